@@ -0,0 +1,81 @@
+package com.mikerusoft.jsonable.parser;
+
+import com.mikerusoft.jsonable.transform.JsonParser;
+import com.mikerusoft.jsonable.transform.JsonTokenizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over elements of top level JSON array, parsing one element at a time.
+ * So memory depends on size of single element and not on size of whole input.
+ * If top level value is not an array, it's returned as single element.
+ * Reading or parsing failures are thrown as {@link IllegalArgumentException} from {@link #hasNext()} and {@link #next()}.
+ * @param <T> type of elements
+ * @since 10/18/2026.
+ */
+public class JsonIterator<T> implements Iterator<T>, Iterable<T>, Closeable {
+
+    private final JsonTokenizer tokenizer;
+    private final JsonParser parser;
+    private final Class<T> clazz;
+    private boolean started = false;
+    private boolean single = false;
+    private int token = JsonTokenizer.NONE;
+
+    public JsonIterator(JsonTokenizer tokenizer, JsonParser parser, Class<T> clazz) {
+        this.tokenizer = tokenizer;
+        this.parser = parser;
+        this.clazz = clazz;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (token == JsonTokenizer.NONE) {
+            try {
+                token = tokenizer.next();
+                if (!started) {
+                    started = true;
+                    if (token == JsonTokenizer.LIST_START) {
+                        token = tokenizer.next();
+                    } else {
+                        single = true;
+                    }
+                }
+                if (token == JsonTokenizer.LIST_END)
+                    token = JsonTokenizer.EOF;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed to read Json", e);
+            }
+        }
+        return token != JsonTokenizer.EOF;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        try {
+            T value = parser.parseElement(tokenizer, token, clazz);
+            token = single ? JsonTokenizer.EOF : JsonTokenizer.NONE;
+            return value;
+        } catch (IOException | InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public Iterator<T> iterator() { return this; }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
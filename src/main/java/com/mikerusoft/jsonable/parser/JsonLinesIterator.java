@@ -0,0 +1,197 @@
+package com.mikerusoft.jsonable.parser;
+
+import com.mikerusoft.jsonable.transform.JsonParser;
+import com.mikerusoft.jsonable.transform.JsonTokenizer;
+import com.mikerusoft.jsonable.transform.Utf8Tokenizer;
+import com.mikerusoft.jsonable.utils.ConfInfo;
+import com.mikerusoft.jsonable.utils.ContextManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Iterates over records of JSON Lines (newline delimited JSON) input in UTF-8.
+ * Input is split on line boundaries into chunks of many lines, chunks are parsed in parallel by executor,
+ * while number of chunks in progress is limited, so input of any size is read in bounded memory.
+ * Records are returned in input order or, if allowed, in order their chunks are parsed.
+ * Configuration ({@link ConfInfo}) of thread which created the iterator is used by worker threads.
+ * Reading or parsing failures are thrown as {@link IllegalArgumentException} from {@link #hasNext()} and {@link #next()}.
+ * @param <T> type of records
+ * @since 10/18/2026.
+ */
+public class JsonLinesIterator<T> implements Iterator<T>, Iterable<T>, Closeable {
+
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final Executor CALLER = new Executor() {
+        @Override
+        public void execute(Runnable command) { command.run(); }
+    };
+
+    private final InputStream in;
+    private final JsonParser parser;
+    private final Class<T> clazz;
+    private final Executor executor;
+    private final boolean ordered;
+    private final int maxPending;
+    private final ConfInfo conf;
+    // all submitted and not yet taken chunks, in input order
+    private final Deque<Future<List<T>>> pending = new ArrayDeque<>();
+    private final CompletionService<List<T>> completion;
+    private int pendingCount = 0;
+    private byte[] buf = new byte[CHUNK_SIZE];
+    private int length = 0;
+    private boolean eof = false;
+    private Iterator<T> batch;
+
+    /**
+     * @param in input stream of JSON records separated by new line
+     * @param parser parser to parse records with
+     * @param clazz class of records
+     * @param executor executor to parse chunks on, null to parse in caller thread
+     * @param ordered if false, records are returned in order their chunks are parsed and not in input order
+     * @param maxPending maximal number of chunks in progress
+     */
+    public JsonLinesIterator(InputStream in, JsonParser parser, Class<T> clazz, Executor executor, boolean ordered, int maxPending) {
+        this.in = in;
+        this.parser = parser;
+        this.clazz = clazz;
+        this.executor = executor == null ? CALLER : executor;
+        this.ordered = ordered;
+        this.maxPending = Math.max(1, maxPending);
+        this.conf = ContextManager.get();
+        this.completion = ordered ? null : new ExecutorCompletionService<List<T>>(this.executor);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (batch == null || !batch.hasNext()) {
+                while (pendingCount < maxPending && submit());
+                if (pendingCount == 0)
+                    return false;
+                pendingCount--;
+                Future<List<T>> done;
+                if (ordered) {
+                    done = pending.poll();
+                } else {
+                    done = completion.take();
+                    pending.remove(done);
+                }
+                batch = done.get().iterator();
+            }
+            return true;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read Json", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException("Interrupted while parsing Json", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException)
+                throw (IllegalArgumentException) e.getCause();
+            throw new IllegalArgumentException("Failed to convert Json to Object", e.getCause());
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return batch.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public Iterator<T> iterator() { return this; }
+
+    @Override
+    public void close() throws IOException {
+        // cancelled task drops its callable, so chunk isn't kept even if task is still in executor queue
+        for (Future<List<T>> f : pending)
+            f.cancel(true);
+        pending.clear();
+        pendingCount = 0;
+        batch = null;
+        in.close();
+    }
+
+    private boolean submit() throws IOException {
+        final byte[] chunk = readChunk();
+        if (chunk == null)
+            return false;
+        Callable<List<T>> task = new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws Exception {
+                ConfInfo previous = ContextManager.set(conf);
+                try {
+                    return parse(chunk);
+                } finally {
+                    ContextManager.set(previous);
+                }
+            }
+        };
+        if (ordered) {
+            FutureTask<List<T>> f = new FutureTask<>(task);
+            pending.add(f);
+            executor.execute(f);
+        } else {
+            pending.add(completion.submit(task));
+        }
+        pendingCount++;
+        return true;
+    }
+
+    private List<T> parse(byte[] chunk) throws Exception {
+        // tokenizer continues after top level value, so every line is read as next value
+        JsonTokenizer tokenizer = new Utf8Tokenizer(chunk, 0, chunk.length);
+        List<T> records = new ArrayList<>();
+        int token;
+        while ((token = tokenizer.next()) != JsonTokenizer.EOF)
+            records.add(parser.parseElement(tokenizer, token, clazz));
+        return records;
+    }
+
+    // reads at least CHUNK_SIZE bytes (unless input ends) and returns them till the last new line,
+    // the rest is kept for next chunk
+    private byte[] readChunk() throws IOException {
+        int target = CHUNK_SIZE;
+        int scanned = 0;
+        int end;
+        while (true) {
+            while (!eof && length < target) {
+                if (length == buf.length)
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                int n = in.read(buf, length, buf.length - length);
+                if (n < 0)
+                    eof = true;
+                else
+                    length += n;
+            }
+            if (eof) {
+                end = length;
+                break;
+            }
+            end = length;
+            while (end > scanned && buf[end - 1] != '\n')
+                end--;
+            if (end > scanned)
+                break;
+            // line is longer than chunk, read more
+            scanned = length;
+            target = length + CHUNK_SIZE;
+        }
+        if (end == 0)
+            return null;
+        byte[] chunk = Arrays.copyOf(buf, end);
+        System.arraycopy(buf, end, buf, 0, length - end);
+        length -= end;
+        return chunk;
+    }
+}
@@ -1,10 +1,28 @@
 package com.mikerusoft.jsonable.parser;
 
+import com.mikerusoft.jsonable.transform.ByteBufferTokenizer;
+import com.mikerusoft.jsonable.transform.ChannelTokenizer;
+import com.mikerusoft.jsonable.transform.CharTokenizer;
+import com.mikerusoft.jsonable.transform.JsonExtractor;
+import com.mikerusoft.jsonable.transform.JsonMinifier;
 import com.mikerusoft.jsonable.transform.JsonParser;
+import com.mikerusoft.jsonable.transform.JsonTape;
+import com.mikerusoft.jsonable.transform.JsonTokenizer;
+import com.mikerusoft.jsonable.transform.Utf8Tokenizer;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class to parse JSON
@@ -15,6 +33,11 @@ public class JsonReader {
 
     private static Log log = LogFactory.getLog(JsonReader.class);
 
+    // single mapping can't be larger than Integer.MAX_VALUE
+    private static final long MAX_MAPPED_REGION = Integer.MAX_VALUE;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     /**
      * Reads JSON from input stream and converts to clazz
      * @param in input stream to read JSON
@@ -26,9 +49,29 @@ public class JsonReader {
      * @throws IllegalArgumentException on unexpected data
      */
     public static <T> T read(InputStream in, Class<T> clazz, String...groups) throws IOException, IllegalArgumentException {
-        BufferedReader bf = new BufferedReader(new InputStreamReader(in));
         try {
-            return JsonParser.get(groups).parse(bf, clazz);
+            return JsonParser.get(groups).parse(tokenizer(in, Charset.defaultCharset()), clazz);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Reads JSON from input stream in specified charset and converts to clazz.
+     * UTF-8 (and US-ASCII) input is parsed directly on bytes, without decoding it into characters
+     * @param in input stream to read JSON
+     * @param charset charset of input stream
+     * @param clazz class to convert to
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IOException on failure of reading stream
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public static <T> T read(InputStream in, Charset charset, Class<T> clazz, String...groups) throws IOException, IllegalArgumentException {
+        try {
+            return JsonParser.get(groups).parse(tokenizer(in, charset), clazz);
         } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
             log.error(e);
             throw new IllegalArgumentException("Failed to convert Json to Object", e);
@@ -46,15 +89,225 @@ public class JsonReader {
      * @throws IllegalArgumentException on invalid data
      */
     public static <T> T read(String in, Class<T> clazz, String...groups) throws IOException, IllegalArgumentException {
-        BufferedReader bf = new BufferedReader(new StringReader(in));
         try {
-            return JsonParser.get(groups).parse(bf, clazz);
+            return JsonParser.get(groups).parse(in, clazz);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Reads JSON from UTF-8 file and converts to clazz. File is memory mapped and parsed directly from
+     * mapped memory, without reading it through streams
+     * @param path file to read JSON from
+     * @param clazz class to convert to
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IOException on failure of mapping file
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public static <T> T read(Path path, Class<T> clazz, String...groups) throws IOException, IllegalArgumentException {
+        try {
+            return JsonParser.get(groups).parse(new ByteBufferTokenizer(map(path)), clazz);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Reads UTF-8 JSON from buffer (from its position to its limit) and converts to clazz.
+     * Heap buffer is parsed in place, position of buffer is not changed
+     * @param buffer buffer to read JSON from
+     * @param clazz class to convert to
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public static <T> T read(ByteBuffer buffer, Class<T> clazz, String...groups) throws IllegalArgumentException {
+        return read(new ByteBuffer[] { buffer }, clazz, groups);
+    }
+
+    /**
+     * Reads UTF-8 JSON scattered over several buffers (e.g. network packets of single message) and converts to clazz.
+     * Buffers are read one after another, JSON value (even single string) may cross buffer boundary
+     * @param buffers buffers to read JSON from
+     * @param clazz class to convert to
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public static <T> T read(ByteBuffer[] buffers, Class<T> clazz, String...groups) throws IllegalArgumentException {
+        try {
+            return JsonParser.get(groups).parse(new ByteBufferTokenizer(buffers), clazz);
+        } catch (IOException e) {
+            // buffers are in memory, should never occur
+            throw new IllegalArgumentException("Failed to read Json", e);
         } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
             log.error(e);
             throw new IllegalArgumentException("Failed to convert Json to Object", e);
         }
     }
 
+    /**
+     * Reads UTF-8 JSON from blocking channel and converts to clazz
+     * @param channel channel to read JSON from
+     * @param clazz class to convert to
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IOException on failure of reading channel
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public static <T> T read(ReadableByteChannel channel, Class<T> clazz, String...groups) throws IOException, IllegalArgumentException {
+        try {
+            return JsonParser.get(groups).parse(new ChannelTokenizer(channel), clazz);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Reads UTF-8 JSON with top level array and converts its elements to clazz in parallel on pool.
+     * Useful for single huge document, which otherwise is parsed by one thread
+     * @param data JSON
+     * @param clazz class of array elements
+     * @param pool pool to parse on
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of array elements
+     * @return elements of array (or single element, if top level value is not an array)
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public static <T> List<T> readParallel(byte[] data, Class<T> clazz, ForkJoinPool pool, String...groups) throws IllegalArgumentException {
+        try {
+            return JsonParser.get(groups).parseParallel(data, 0, data.length, clazz, pool);
+        } catch (IOException e) {
+            // data is in memory, should never occur
+            throw new IllegalArgumentException("Failed to read Json", e);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Reads UTF-8 JSON into compact read only tree (see {@link JsonTape}). Maps and lists are views over flat tape
+     * which references data, values are decoded only when accessed, so resident tree takes fraction of heap
+     * of HashMap/ArrayList tree. Maps with class property are not converted into objects
+     * @param data UTF-8 JSON, shouldn't be changed while tree is used
+     * @return {@link JsonTape.MapView}, {@link JsonTape.ListView}, String, number or Boolean, null if data is empty
+     * @throws IllegalArgumentException if data is invalid
+     */
+    public static Object readCompact(byte[] data) throws IllegalArgumentException {
+        JsonTape tape = JsonTape.build(data, 0, data.length);
+        return tape == null ? null : tape.root();
+    }
+
+    /**
+     * Reads JSON from String into compact read only tree
+     * @see #readCompact(byte[])
+     */
+    public static Object readCompact(String json) throws IllegalArgumentException {
+        return readCompact(json.getBytes(UTF_8));
+    }
+
+    /**
+     * Reads UTF-8 JSON lazily: whole JSON is validated and indexed (see {@link JsonTape}), but nested maps, lists,
+     * strings and numbers are decoded only when first accessed by get, and then kept by their map or list,
+     * so parts of JSON, which are never accessed, are never decoded
+     * @param data UTF-8 JSON, shouldn't be changed while tree is used
+     * @return {@link JsonTape.MapView}, {@link JsonTape.ListView}, String, number or Boolean, null if data is empty
+     * @throws IllegalArgumentException if data is invalid
+     */
+    public static Object readLazy(byte[] data) throws IllegalArgumentException {
+        JsonTape tape = JsonTape.build(data, 0, data.length, true);
+        return tape == null ? null : tape.root();
+    }
+
+    /**
+     * Reads JSON from String lazily
+     * @see #readLazy(byte[])
+     */
+    public static Object readLazy(String json) throws IllegalArgumentException {
+        return readLazy(json.getBytes(UTF_8));
+    }
+
+    /**
+     * Checks that input is well formed JSON without creating any values. It's the same lenient grammar, which is
+     * accepted by read methods, and not strict RFC 8259: e.g. unquoted words (<code>abc</code>), single quoted
+     * strings and trailing comma (<code>[1,]</code>) are valid. Empty or blank input is invalid
+     * @param in input stream to read JSON
+     * @param charset charset of input stream
+     * @return -1 if JSON is valid or offset (in characters or, for UTF-8, in bytes) where error is found
+     * @throws IOException on failure of reading stream
+     */
+    public static long validate(InputStream in, Charset charset) throws IOException {
+        return validate(tokenizer(in, charset));
+    }
+
+    /**
+     * Checks that UTF-8 data is well formed JSON without creating any values, in lenient grammar of {@link #validate(InputStream, Charset)}
+     * @param data UTF-8 JSON
+     * @return -1 if JSON is valid or offset in bytes where error is found
+     */
+    public static long validate(byte[] data) {
+        try {
+            return validate(new Utf8Tokenizer(data, 0, data.length));
+        } catch (IOException e) {
+            // data is in memory, should never occur
+            throw new IllegalArgumentException("Failed to read Json", e);
+        }
+    }
+
+    /**
+     * Checks that String is well formed JSON without creating any values, in lenient grammar of {@link #validate(InputStream, Charset)}
+     * @param json JSON
+     * @return -1 if JSON is valid or offset in characters where error is found
+     */
+    public static long validate(String json) {
+        try {
+            return validate(new CharTokenizer(json));
+        } catch (IOException e) {
+            // data is in memory, should never occur
+            throw new IllegalArgumentException("Failed to read Json", e);
+        }
+    }
+
+    /**
+     * Copies UTF-8 JSON from input to output without white spaces outside of strings. JSON is validated while copied,
+     * strings and numbers are copied as they are. Several top level values are separated by new line.
+     * Streams are not closed
+     * @param in input stream to read JSON
+     * @param out output stream to write minified JSON
+     * @throws IOException on failure of reading or writing stream
+     * @throws IllegalArgumentException if JSON is invalid
+     */
+    public static void minify(InputStream in, OutputStream out) throws IOException, IllegalArgumentException {
+        JsonMinifier.minify(in, out);
+    }
+
+    /**
+     * Removes white spaces outside of strings from JSON
+     * @param json JSON
+     * @return minified JSON
+     * @throws IllegalArgumentException if JSON is invalid
+     */
+    public static String minify(String json) throws IllegalArgumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length());
+        try {
+            JsonMinifier.minify(new ByteArrayInputStream(json.getBytes(UTF_8)), out);
+            return new String(out.toByteArray(), UTF_8);
+        } catch (IOException e) {
+            // data is in memory, should never occur
+            throw new IllegalArgumentException("Failed to read Json", e);
+        }
+    }
+
     /**
      * Reads JSON from input stream and converts to java object
      * @param in input stream to read JSON
@@ -64,15 +317,27 @@ public class JsonReader {
      * @throws IllegalArgumentException if data is invalid
      */
     public static Object read(InputStream in, String...groups) throws IOException, IllegalArgumentException {
-        BufferedReader bf = new BufferedReader(new InputStreamReader(in));
         try {
-            return JsonParser.get(groups).parse(bf, null);
+            return JsonParser.get(groups).parse(tokenizer(in, Charset.defaultCharset()), null);
         } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
             log.error(e);
             throw new IllegalArgumentException("Failed to convert Json to Object", e);
         }
     }
 
+    /**
+     * Reads JSON from input stream in specified charset and converts to java object
+     * @param in input stream to read JSON
+     * @param charset charset of input stream
+     * @param groups list of groups to serialize data for them
+     * @return returns T
+     * @throws IOException on failure reading stream
+     * @throws IllegalArgumentException if data is invalid
+     */
+    public static Object read(InputStream in, Charset charset, String...groups) throws IOException, IllegalArgumentException {
+        return read(in, charset, Object.class, groups);
+    }
+
     /**
      * Reads JSON from String and converts to java object
      * @param in input stream to read JSON
@@ -82,13 +347,210 @@ public class JsonReader {
      * @throws IllegalArgumentException if data is invalid
      */
     public static Object read(String in, String...groups) throws IOException, IllegalArgumentException {
-        BufferedReader bf = new BufferedReader(new StringReader(in));
         try {
-            return JsonParser.get(groups).parse(bf, null);
+            return JsonParser.get(groups).parse(in, null);
         } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
             log.error(e);
             throw new IllegalArgumentException("Failed to convert Json to Object", e);
         }
     }
-}
 
+    /**
+     * Lazily reads elements of top level JSON array from input stream, one element at a time.
+     * Each element is converted in the same way as by {@link #read(InputStream, Class, String...)}.
+     * Don't forget to close returned iterator
+     * @param in input stream to read JSON
+     * @param clazz class of elements
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of elements
+     * @return iterator over array elements
+     */
+    public static <T> JsonIterator<T> stream(InputStream in, Class<T> clazz, String...groups) {
+        return new JsonIterator<>(tokenizer(in, Charset.defaultCharset()), JsonParser.get(groups), clazz);
+    }
+
+    /**
+     * Lazily reads elements of top level JSON array from input stream in specified charset, one element at a time.
+     * Don't forget to close returned iterator
+     * @param in input stream to read JSON
+     * @param charset charset of input stream
+     * @param clazz class of elements
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of elements
+     * @return iterator over array elements
+     */
+    public static <T> JsonIterator<T> stream(InputStream in, Charset charset, Class<T> clazz, String...groups) {
+        return new JsonIterator<>(tokenizer(in, charset), JsonParser.get(groups), clazz);
+    }
+
+    /**
+     * Lazily reads elements of top level JSON array from reader, one element at a time.
+     * Don't forget to close returned iterator
+     * @param in reader to read JSON
+     * @param clazz class of elements
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of elements
+     * @return iterator over array elements
+     */
+    public static <T> JsonIterator<T> stream(Reader in, Class<T> clazz, String...groups) {
+        return new JsonIterator<>(new CharTokenizer(in), JsonParser.get(groups), clazz);
+    }
+
+    /**
+     * Lazily reads elements of top level JSON array from memory mapped UTF-8 file, one element at a time.
+     * Don't forget to close returned iterator
+     * @param path file to read JSON from
+     * @param clazz class of elements
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of elements
+     * @return iterator over array elements
+     * @throws IOException on failure of mapping file
+     */
+    public static <T> JsonIterator<T> stream(Path path, Class<T> clazz, String...groups) throws IOException {
+        return new JsonIterator<>(new ByteBufferTokenizer(map(path)), JsonParser.get(groups), clazz);
+    }
+
+    /**
+     * Lazily reads elements of top level JSON array from blocking channel in UTF-8, one element at a time.
+     * Don't forget to close returned iterator
+     * @param channel channel to read JSON from
+     * @param clazz class of elements
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of elements
+     * @return iterator over array elements
+     */
+    public static <T> JsonIterator<T> stream(ReadableByteChannel channel, Class<T> clazz, String...groups) {
+        return new JsonIterator<>(new ChannelTokenizer(channel), JsonParser.get(groups), clazz);
+    }
+
+    /**
+     * Reads JSON Lines (one JSON value per line) in UTF-8, parsing chunks of lines in caller thread.
+     * Don't forget to close returned iterator
+     * @param in input stream to read records from
+     * @param clazz class of records
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of records
+     * @return iterator over records in input order
+     */
+    public static <T> JsonLinesIterator<T> lines(InputStream in, Class<T> clazz, String...groups) {
+        return new JsonLinesIterator<>(in, JsonParser.get(groups), clazz, null, true, 1);
+    }
+
+    /**
+     * Reads JSON Lines (one JSON value per line) in UTF-8, parsing chunks of lines in parallel on executor
+     * (e.g. {@link java.util.concurrent.ForkJoinPool}). Don't forget to close returned iterator
+     * @param in input stream to read records from
+     * @param clazz class of records
+     * @param executor executor to parse on
+     * @param ordered true to return records in input order, false to return them as soon as they are parsed
+     * @param groups list of groups to serialize data for them
+     * @param <T> type of records
+     * @return iterator over records
+     */
+    public static <T> JsonLinesIterator<T> lines(InputStream in, Class<T> clazz, Executor executor, boolean ordered, String...groups) {
+        return new JsonLinesIterator<>(in, JsonParser.get(groups), clazz, executor, ordered, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Extracts values by JSON Pointers (e.g. <code>/header/tenantId</code> or <code>/items/*&#47;sku</code>, where
+     * <code>*</code> matches any key or index) from input stream. Only matched values are parsed, other values are skipped
+     * @param in input stream to read JSON
+     * @param pointers JSON Pointers to extract
+     * @return map of pointer to its value, values of pointers with <code>*</code> are Lists of all matches
+     * @throws IOException on failure reading stream
+     * @throws IllegalArgumentException on invalid data or pointer
+     */
+    public static Map<String, Object> extract(InputStream in, String...pointers) throws IOException, IllegalArgumentException {
+        try {
+            return new JsonExtractor(JsonParser.get(), pointers).extract(tokenizer(in, Charset.defaultCharset()));
+        } catch (InstantiationException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Extracts values by JSON Pointers from String, see {@link #extract(InputStream, String...)}
+     * @param in JSON string
+     * @param pointers JSON Pointers to extract
+     * @return map of pointer to its value, values of pointers with <code>*</code> are Lists of all matches
+     * @throws IOException on failure reading string
+     * @throws IllegalArgumentException on invalid data or pointer
+     */
+    public static Map<String, Object> extract(String in, String...pointers) throws IOException, IllegalArgumentException {
+        try {
+            return new JsonExtractor(JsonParser.get(), pointers).extract(new CharTokenizer(in));
+        } catch (InstantiationException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        }
+    }
+
+    /**
+     * Creates pull parser over input stream, which reads JSON token by token
+     * @param in input stream to read JSON
+     * @return token reader
+     */
+    public static JsonTokenReader tokens(InputStream in) {
+        return new JsonTokenReader(tokenizer(in, Charset.defaultCharset()));
+    }
+
+    /**
+     * Creates pull parser over input stream in specified charset, which reads JSON token by token
+     * @param in input stream to read JSON
+     * @param charset charset of input stream
+     * @return token reader
+     */
+    public static JsonTokenReader tokens(InputStream in, Charset charset) {
+        return new JsonTokenReader(tokenizer(in, charset));
+    }
+
+    /**
+     * Creates pull parser over reader, which reads JSON token by token
+     * @param in reader to read JSON
+     * @return token reader
+     */
+    public static JsonTokenReader tokens(Reader in) {
+        return new JsonTokenReader(new CharTokenizer(in));
+    }
+
+    /**
+     * Creates pull parser over String, which reads JSON token by token
+     * @param in JSON string
+     * @return token reader
+     */
+    public static JsonTokenReader tokens(String in) {
+        return new JsonTokenReader(new CharTokenizer(in));
+    }
+
+    // values are skipped, so no Strings, Maps or Lists are created. Input without any value is invalid
+    private static long validate(JsonTokenizer tokenizer) throws IOException {
+        try {
+            if (tokenizer.skipValue() == JsonTokenizer.EOF)
+                return tokenizer.getOffset();
+            while (tokenizer.skipValue() != JsonTokenizer.EOF);
+            return -1;
+        } catch (IllegalArgumentException e) {
+            return tokenizer.getOffset();
+        }
+    }
+
+    private static JsonTokenizer tokenizer(InputStream in, Charset charset) {
+        if (Utf8Tokenizer.supports(charset))
+            return new Utf8Tokenizer(in);
+        return new CharTokenizer(new InputStreamReader(in, charset));
+    }
+
+    // mapping stays valid after channel is closed, and is released when buffers are garbage collected
+    private static ByteBuffer[] map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] regions = new ByteBuffer[(int) ((size + MAX_MAPPED_REGION - 1) / MAX_MAPPED_REGION)];
+            for (int i = 0; i < regions.length; i++) {
+                long position = i * MAX_MAPPED_REGION;
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_MAPPED_REGION, size - position));
+            }
+            return regions;
+        }
+    }
+}
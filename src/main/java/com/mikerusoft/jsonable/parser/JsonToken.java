@@ -0,0 +1,19 @@
+package com.mikerusoft.jsonable.parser;
+
+/**
+ * Tokens returned by {@link JsonTokenReader}
+ * @since 10/18/2026.
+ */
+public enum JsonToken {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    FIELD_NAME,
+    VALUE_STRING,
+    VALUE_NUMBER_INT,
+    VALUE_NUMBER_FLOAT,
+    VALUE_TRUE,
+    VALUE_FALSE,
+    VALUE_NULL
+}
@@ -0,0 +1,164 @@
+package com.mikerusoft.jsonable.parser;
+
+import com.mikerusoft.jsonable.transform.JsonTokenizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull parser. Reads JSON token by token without building Maps, Lists or Objects,
+ * so input of any size could be scanned in constant memory:
+ * <pre>
+ *     try (JsonTokenReader tokens = JsonReader.tokens(in)) {
+ *         JsonToken t;
+ *         while ((t = tokens.next()) != null) {
+ *             if (t == JsonToken.FIELD_NAME &amp;&amp; "id".equals(tokens.getFieldName())) {
+ *                 tokens.next();
+ *                 long id = tokens.getLong();
+ *             } else if (t == JsonToken.START_OBJECT &amp;&amp; tokens.getDepth() &gt; 2) {
+ *                 tokens.skipChildren();
+ *             }
+ *         }
+ *     }
+ * </pre>
+ * @since 10/18/2026.
+ */
+public class JsonTokenReader implements Closeable {
+
+    private final JsonTokenizer tokenizer;
+    private JsonToken current;
+    private String fieldName;
+
+    public JsonTokenReader(JsonTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Reads next token
+     * @return next token or null on end of input
+     * @throws IOException on failure reading input
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public JsonToken next() throws IOException, IllegalArgumentException {
+        switch (tokenizer.next()) {
+            case JsonTokenizer.MAP_START: current = JsonToken.START_OBJECT; break;
+            case JsonTokenizer.MAP_END: current = JsonToken.END_OBJECT; break;
+            case JsonTokenizer.LIST_START: current = JsonToken.START_ARRAY; break;
+            case JsonTokenizer.LIST_END: current = JsonToken.END_ARRAY; break;
+            case JsonTokenizer.KEY:
+                current = JsonToken.FIELD_NAME;
+                fieldName = tokenizer.getText();
+                break;
+            case JsonTokenizer.STRING: current = JsonToken.VALUE_STRING; break;
+            case JsonTokenizer.SCALAR: current = JsonToken.VALUE_STRING; break;
+            case JsonTokenizer.TRUE: current = JsonToken.VALUE_TRUE; break;
+            case JsonTokenizer.FALSE: current = JsonToken.VALUE_FALSE; break;
+            case JsonTokenizer.NULL: current = JsonToken.VALUE_NULL; break;
+            case JsonTokenizer.LONG:
+            case JsonTokenizer.BIG_INTEGER:
+                current = JsonToken.VALUE_NUMBER_INT;
+                break;
+            case JsonTokenizer.DOUBLE:
+            case JsonTokenizer.BIG_DECIMAL:
+                current = JsonToken.VALUE_NUMBER_FLOAT;
+                break;
+            default: current = null;
+        }
+        return current;
+    }
+
+    /**
+     * @return last token returned by {@link #next()}
+     */
+    public JsonToken currentToken() { return current; }
+
+    /**
+     * @return name of current field, if current token is {@link JsonToken#FIELD_NAME} or value of the field
+     */
+    public String getFieldName() { return fieldName; }
+
+    /**
+     * @return depth of current token, where 0 is top level value
+     */
+    public int getDepth() {
+        int depth = tokenizer.getDepth();
+        return current == JsonToken.START_OBJECT || current == JsonToken.START_ARRAY ? depth - 1 : depth;
+    }
+
+    /**
+     * @return text of current value or field name. null for {@link JsonToken#VALUE_NULL} and structural tokens
+     */
+    public String getString() {
+        if (current == null || current == JsonToken.VALUE_NULL)
+            return null;
+        switch (current) {
+            case START_OBJECT:
+            case END_OBJECT:
+            case START_ARRAY:
+            case END_ARRAY:
+                return null;
+        }
+        return tokenizer.getText();
+    }
+
+    public long getLong() {
+        if (JsonTokenizer.isNumber(tokenizer.getToken()))
+            return tokenizer.getLong();
+        try {
+            return Long.parseLong(stringText());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Value " + tokenizer.getText() + " is not a long number", e);
+        }
+    }
+
+    public double getDouble() {
+        if (JsonTokenizer.isNumber(tokenizer.getToken()))
+            return tokenizer.getDouble();
+        try {
+            return Double.parseDouble(stringText());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Value " + tokenizer.getText() + " is not a number", e);
+        }
+    }
+
+    public boolean getBoolean() {
+        if (current == JsonToken.VALUE_TRUE)
+            return true;
+        if (current == JsonToken.VALUE_FALSE)
+            return false;
+        throw new IllegalArgumentException("Current token " + current + " is not a boolean");
+    }
+
+    /**
+     * @return Long, Double, BigInteger (for integers out of long range) or BigDecimal (for decimals out of double precision)
+     */
+    public Number getNumber() {
+        if (current != JsonToken.VALUE_NUMBER_INT && current != JsonToken.VALUE_NUMBER_FLOAT)
+            throw new IllegalArgumentException("Current token " + current + " is not a number");
+        return tokenizer.getNumber();
+    }
+
+    /**
+     * If current token is {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY}, skips all its children
+     * without creating them and stops on appropriate {@link JsonToken#END_OBJECT} or {@link JsonToken#END_ARRAY}
+     * @throws IOException on failure reading input
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public void skipChildren() throws IOException, IllegalArgumentException {
+        if (current == JsonToken.START_OBJECT || current == JsonToken.START_ARRAY) {
+            tokenizer.skipChildren();
+            current = current == JsonToken.START_OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+
+    private String stringText() {
+        if (current != JsonToken.VALUE_STRING)
+            throw new IllegalArgumentException("Current token " + current + " is not a number");
+        return tokenizer.getText();
+    }
+}
@@ -5,10 +5,13 @@ import com.mikerusoft.jsonable.utils.*;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 /**
  * @author Grinfeld Mikhail
@@ -26,6 +29,37 @@ public class JsonWriter {
         write(o, out, null, charset, groups);
     }
 
+    /**
+     * Writes UTF-8 Json straight into buffer, numbers are formatted without intermediate Strings
+     * @param o object to write
+     * @param out buffer to write into, starting from its position
+     * @param groups groups to use for conversion
+     * @throws java.nio.BufferOverflowException if buffer is too small, buffer contains part of Json
+     */
+    public static void write (Object o, ByteBuffer out, String...groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
+        BufferedOutputter outputter = new BufferedOutputter(out);
+        try {
+            write(o, outputter, groups);
+        } finally {
+            try {
+                outputter.flush();
+            } finally {
+                outputter.release();
+            }
+        }
+    }
+
+    /**
+     * @param o object to write
+     * @param groups groups to use for conversion
+     * @return UTF-8 Json bytes
+     */
+    public static byte[] toUtf8 (Object o, String...groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(o, out, "UTF-8", groups);
+        return out.toByteArray();
+    }
+
 
     public static void write (Object o, Writer out, String...groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
         write(o, out, null, groups);
@@ -64,7 +98,17 @@ public class JsonWriter {
      * No more Configuration as parameter. Use {@link ConfInfo} instead.
      */
     public static void write (Object o, OutputStream out, Configuration c, String charset, String...groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
-        write(o, new OutputStreamOutputter(out, charset), c, groups);
+        // fragments are encoded into pooled buffer, stream is called only when it's full and at the end
+        BufferedOutputter outputter = new BufferedOutputter(out, charset == null ? Charset.defaultCharset() : Charset.forName(charset));
+        try {
+            write(o, outputter, c, groups);
+        } finally {
+            try {
+                outputter.flush();
+            } finally {
+                outputter.release();
+            }
+        }
     }
 
     @Deprecated
@@ -0,0 +1,173 @@
+package com.mikerusoft.jsonable.parser;
+
+import com.mikerusoft.jsonable.transform.CharTokenizer;
+import com.mikerusoft.jsonable.transform.JsonParser;
+import com.mikerusoft.jsonable.transform.JsonTokenizer;
+import com.mikerusoft.jsonable.transform.Utf8Tokenizer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reusable reader of JSON for specified groups. Unlike {@link JsonReader}, which creates parser and tokenizer
+ * (with their buffers) on every call, this reader keeps them and only resets them for the next input,
+ * so reading a lot of small documents (e.g. request bodies) doesn't allocate them again and again.
+ * Instance is not thread safe - use it by single thread at a time or borrow it from {@link Pool}.
+ * @since 10/18/2026.
+ */
+public class ObjectReader {
+
+    private static Log log = LogFactory.getLog(ObjectReader.class);
+
+    private final JsonParser parser;
+    private CharTokenizer chars;
+    private Utf8Tokenizer bytes;
+
+    public ObjectReader(String...groups) {
+        this.parser = JsonParser.get(groups);
+    }
+
+    /**
+     * Reads JSON from String and converts to clazz. Characters of String are copied into reusable buffer window by window
+     * @param json JSON
+     * @param clazz class to convert to
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IllegalArgumentException on invalid data
+     */
+    public <T> T read(String json, Class<T> clazz) throws IllegalArgumentException {
+        try {
+            return read(chars == null ? chars = new CharTokenizer(json) : chars.reset(json), clazz);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read Json", e);
+        }
+    }
+
+    /**
+     * Reads UTF-8 JSON from array and converts to clazz
+     * @param data JSON
+     * @param off start of JSON in data
+     * @param len length of JSON
+     * @param clazz class to convert to
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IllegalArgumentException on invalid data
+     */
+    public <T> T read(byte[] data, int off, int len, Class<T> clazz) throws IllegalArgumentException {
+        try {
+            return read(bytes == null ? bytes = new Utf8Tokenizer(data, off, len) : bytes.reset(data, off, len), clazz);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read Json", e);
+        }
+    }
+
+    /**
+     * Reads UTF-8 JSON from input stream and converts to clazz. Stream is not closed
+     * @param in input stream to read JSON
+     * @param clazz class to convert to
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IOException on failure of reading stream
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public <T> T read(InputStream in, Class<T> clazz) throws IOException, IllegalArgumentException {
+        return read(bytes == null ? bytes = new Utf8Tokenizer(in) : bytes.reset(in), clazz);
+    }
+
+    /**
+     * Reads JSON from reader and converts to clazz. Reader is not closed
+     * @param in reader to read JSON
+     * @param clazz class to convert to
+     * @param <T> type of class to convert to
+     * @return returns T
+     * @throws IOException on failure of reading
+     * @throws IllegalArgumentException on unexpected data
+     */
+    public <T> T read(Reader in, Class<T> clazz) throws IOException, IllegalArgumentException {
+        return read(chars == null ? chars = new CharTokenizer(in) : chars.reset(in), clazz);
+    }
+
+    private <T> T read(JsonTokenizer tokenizer, Class<T> clazz) throws IOException, IllegalArgumentException {
+        try {
+            return parser.reset().parse(tokenizer, clazz);
+        } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+            log.error(e);
+            throw new IllegalArgumentException("Failed to convert Json to Object", e);
+        } finally {
+            // idle reader keeps neither input nor buffers grown by large document
+            tokenizer.release();
+        }
+    }
+
+    /**
+     * Pool of readers for the same groups. Pool is lock free (doesn't pin virtual threads on monitors) and doesn't
+     * use ThreadLocal, so it's suitable for both platform threads and large number of short living virtual threads.
+     * Up to maxIdle released readers are kept for reuse, others are left to garbage collector
+     */
+    public static class Pool {
+
+        private final String[] groups;
+        private final int maxIdle;
+        private final ConcurrentLinkedQueue<ObjectReader> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        public Pool(int maxIdle, String...groups) {
+            this.maxIdle = maxIdle;
+            this.groups = groups;
+        }
+
+        /**
+         * @return idle reader from pool or new one, if there are no idle readers
+         */
+        public ObjectReader acquire() {
+            ObjectReader reader = idle.poll();
+            if (reader == null)
+                return new ObjectReader(groups);
+            size.decrementAndGet();
+            return reader;
+        }
+
+        /**
+         * Returns reader to pool. Reader shouldn't be used after it's released
+         * @param reader reader acquired from this pool
+         */
+        public void release(ObjectReader reader) {
+            if (size.incrementAndGet() > maxIdle) {
+                size.decrementAndGet();
+                return;
+            }
+            idle.offer(reader);
+        }
+
+        /**
+         * Reads JSON from String by pooled reader
+         * @see ObjectReader#read(String, Class)
+         */
+        public <T> T read(String json, Class<T> clazz) throws IllegalArgumentException {
+            ObjectReader reader = acquire();
+            try {
+                return reader.read(json, clazz);
+            } finally {
+                release(reader);
+            }
+        }
+
+        /**
+         * Reads UTF-8 JSON from array by pooled reader
+         * @see ObjectReader#read(byte[], int, int, Class)
+         */
+        public <T> T read(byte[] data, int off, int len, Class<T> clazz) throws IllegalArgumentException {
+            ObjectReader reader = acquire();
+            try {
+                return reader.read(data, off, len, clazz);
+            } finally {
+                release(reader);
+            }
+        }
+    }
+}
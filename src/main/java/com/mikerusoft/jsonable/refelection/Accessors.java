@@ -0,0 +1,121 @@
+package com.mikerusoft.jsonable.refelection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Creates {@link MethodHandle} accessors for properties, once per property, so access check of reflective
+ * Field.get/Method.invoke isn't repeated on every call. Getters are adapted to (Object)Object and setters
+ * to (Object,Object)void, so invokers call them by invokeExact and primitives are boxed/unboxed by handle.
+ * Handles are kept in instance fields of invokers, not in static finals, so JIT doesn't constant-fold and
+ * inline them: call still goes through handle.
+ * Null is returned, when handle can't be created (e.g. final field) - invoker falls back to reflection then.
+ * @since 10/18/2026.
+ */
+final class Accessors {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private Accessors() {}
+
+    static MethodHandle getter(Field f) {
+        if (!accessible(f))
+            return null;
+        try {
+            return lookup.unreflectGetter(f).asType(GETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static MethodHandle setter(Field f) {
+        if (!accessible(f))
+            return null;
+        try {
+            return lookup.unreflectSetter(f).asType(SETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static MethodHandle getter(Method m) {
+        if (m == null || m.getParameterTypes().length != 0 || !accessible(m))
+            return null;
+        try {
+            return lookup.unreflect(m).asType(GETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static MethodHandle setter(Method m) {
+        if (m == null || m.getParameterTypes().length != 1 || !accessible(m))
+            return null;
+        try {
+            // returned value, if any, is dropped
+            return lookup.unreflect(m).asType(SETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    static Object getField(MethodHandle getter, Object o) {
+        try {
+            return (Object) getter.invokeExact(o);
+        } catch (Throwable t) {
+            throw unchecked(t);
+        }
+    }
+
+    static void setField(MethodHandle setter, Object o, Object value) {
+        try {
+            setter.invokeExact(o, value);
+        } catch (Throwable t) {
+            throw unchecked(t);
+        }
+    }
+
+    /**
+     * Calls method getter, exception thrown by method is wrapped as {@link Method#invoke(Object, Object...)} does
+     */
+    static Object invokeGetter(MethodHandle getter, Object o) throws InvocationTargetException {
+        try {
+            return (Object) getter.invokeExact(o);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    static void invokeSetter(MethodHandle setter, Object o, Object value) throws InvocationTargetException {
+        try {
+            setter.invokeExact(o, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    // field access throws only unchecked exceptions
+    private static RuntimeException unchecked(Throwable t) {
+        if (t instanceof Error)
+            throw (Error) t;
+        return t instanceof RuntimeException ? (RuntimeException) t : new IllegalStateException(t);
+    }
+
+    private static boolean accessible(AccessibleObject ao) {
+        try {
+            ao.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            // security manager or not opened module
+            return false;
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.mikerusoft.jsonable.annotations.DateField;
 import com.mikerusoft.jsonable.annotations.JsonField;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
 
 /**
  * @author Grinfeld Mikhail
@@ -16,26 +18,43 @@ public class FieldInvoker implements Invoker {
     String name;
     boolean setEnabled = true;
     boolean getEnabled = true;
+    // resolved once, instead of on every access
+    private final Class<?>[] componentGenerics;
+    private final Class<?>[] setterGenerics;
+    private final DateField dateField;
+    private final boolean convert;
+    // null, if field is accessed by reflection; called through handle, not inlined as constant
+    private final MethodHandle getter;
+    private final MethodHandle setter;
 
     public FieldInvoker(String name, Field field) {
         this.field = field;
         this.name = name;
+        this.componentGenerics = field.getType().getComponentType() != null ?  new Class<?>[] { field.getType().getComponentType() } : null;
+        this.setterGenerics = ReflectionCache.generics(field, componentGenerics);
+        this.dateField = field.getAnnotation(DateField.class);
+        this.convert = ReflectionCache.needsConversion(field.getType());
+        this.getter = Accessors.getter(field);
+        this.setter = Accessors.setter(field);
     }
 
     @Override
     public Object get(Object o) throws IllegalAccessException, InstantiationException {
-        field.setAccessible(true);
-        Object result = field.get(o);
-        if (result == null)
-            return null;
-        Class<?>[] generics = field.getType().getComponentType() != null ?  new Class[] { field.getType().getComponentType() } : null;
-        return ReflectionCache.getValue(field.getType(), generics, result, getGetterAnnotation(DateField.class));
+        Object result;
+        if (getter != null) {
+            result = Accessors.getField(getter, o);
+        } else {
+            field.setAccessible(true);
+            result = field.get(o);
+        }
+        if (result == null || !convert)
+            return result;
+        return ReflectionCache.getValue(field.getType(), componentGenerics, result, dateField);
     }
 
     @Override
     public void set(Object o, Object param) throws IllegalAccessException, InvocationTargetException, InstantiationException {
-        Class<?>[] generics = field.getType().getComponentType() != null ?  new Class[] { field.getType().getComponentType() } : null;
-        ReflectionCache.fill(field, generics, o, param);
+        ReflectionCache.fill(field, setterGenerics, dateField, setter, o, param);
     }
 
     @Override
@@ -53,6 +72,12 @@ public class FieldInvoker implements Invoker {
     @Override
     public String getGetterName() { return name; }
 
+    @Override
+    public Type getSetterType() { return field.getGenericType(); }
+
+    @Override
+    public Class<?> getGetterType() { return field.getType(); }
+
     @Override
     public String[] getGetterGroups() {
         return field.isAnnotationPresent(JsonField.class) ? field.getAnnotation(JsonField.class).groups() : null;
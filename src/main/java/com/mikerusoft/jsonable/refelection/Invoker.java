@@ -2,6 +2,7 @@ package com.mikerusoft.jsonable.refelection;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
 
 /**
  * @author Grinfeld Mikhail
@@ -14,6 +15,8 @@ public interface Invoker {
     public boolean getEnabled();
     public String getSetterName();
     public String getGetterName();
+    public Type getSetterType();
+    public Class<?> getGetterType();
     public String[] getGetterGroups();
     public String[] getSetterGroups();
     public <T extends Annotation> T getGetterAnnotation(Class<T> annotationClass);
@@ -4,8 +4,10 @@ import com.mikerusoft.jsonable.annotations.DateField;
 import com.mikerusoft.jsonable.annotations.JsonField;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 
 /**
  * @author Grinfeld Mikhail
@@ -17,25 +19,43 @@ public class MethodInvoker implements Invoker {
     Method getter;
     String setterName;
     String getterName;
+    // resolved once, instead of on every access
+    private final Class<?>[] getterGenerics;
+    private final DateField getterDate;
+    private final boolean convert;
+    private final Class<?> setterType;
+    private final DateField setterDate;
+    // null, if method is invoked by reflection; called through handle, not inlined as constant
+    private final MethodHandle getterHandle;
+    private final MethodHandle setterHandle;
 
     public MethodInvoker(String setterName, Method setter,String getterName,  Method getter) {
         this.setter = setter;
         this.getter = getter;
         this.setterName = setterName;
         this.getterName = getterName;
+        this.getterGenerics = getter != null && getter.getReturnType().getComponentType() != null ?
+            new Class<?>[] { getter.getReturnType().getComponentType() } : null;
+        this.getterDate = getter != null ? getter.getAnnotation(DateField.class) : null;
+        this.convert = getter == null || ReflectionCache.needsConversion(getter.getReturnType());
+        this.setterType = setter != null ? setter.getParameterTypes()[0] : null;
+        this.setterDate = setter != null ? setter.getAnnotation(DateField.class) : null;
+        this.getterHandle = Accessors.getter(getter);
+        this.setterHandle = Accessors.setter(setter);
     }
 
     @Override
     public Object get(Object o) throws IllegalAccessException, InvocationTargetException, InstantiationException {
-        getter.setAccessible(true);
-        Object result = getter.invoke(o);
-        if (result == null)
-            return null;
-        Class<?>[] generic = null;
-        if (getter.getReturnType().getComponentType() != null) {
-            generic = new Class<?>[] { getter.getReturnType().getComponentType() };
+        Object result;
+        if (getterHandle != null) {
+            result = Accessors.invokeGetter(getterHandle, o);
+        } else {
+            getter.setAccessible(true);
+            result = getter.invoke(o);
         }
-        return ReflectionCache.getValue(getter.getReturnType(), generic, result, getGetterAnnotation(DateField.class));
+        if (result == null || !convert)
+            return result;
+        return ReflectionCache.getValue(getter.getReturnType(), getterGenerics, result, getterDate);
     }
 
     @Override
@@ -44,7 +64,7 @@ public class MethodInvoker implements Invoker {
         if (setter.getParameterTypes()[0] != null) {
             generic = new Class<?>[] { setter.getParameterTypes()[0] };
         }*/
-        ReflectionCache.fill(setter, null, o, param);
+        ReflectionCache.fill(setter, setterType, null, setterDate, setterHandle, o, param);
     }
 
     @Override
@@ -63,6 +83,12 @@ public class MethodInvoker implements Invoker {
     @Override
     public String getGetterName() { return getterName; }
 
+    @Override
+    public Type getSetterType() { return setEnabled() ? setter.getGenericParameterTypes()[0] : null; }
+
+    @Override
+    public Class<?> getGetterType() { return getter == null ? null : getter.getReturnType(); }
+
     @Override
     public String[] getGetterGroups() {
         return getEnabled() && getter.isAnnotationPresent(JsonField.class) ? getter.getAnnotation(JsonField.class).groups() : null;
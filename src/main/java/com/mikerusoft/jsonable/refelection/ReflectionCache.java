@@ -9,7 +9,6 @@ import com.mikerusoft.jsonable.annotations.JsonField;
 import com.mikerusoft.jsonable.transform.DateTransformer;
 import com.mikerusoft.jsonable.utils.ConfInfo;
 import org.apache.commons.lang3.EnumUtils;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.logging.Log;
@@ -18,6 +17,7 @@ import org.apache.commons.logging.LogFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.*;
 import java.math.BigDecimal;
 import java.net.JarURLConnection;
@@ -41,6 +41,13 @@ public class ReflectionCache {
     private static Log log = LogFactory.getLog(ReflectionCache.class);
 
     private static ReflectionCache instance;
+    // annotation is checked for every converted value, so resolved once per class
+    private static final ClassValue<Boolean> jsonClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.getAnnotation(JsonClass.class) != null;
+        }
+    };
     private static final Object lock = new Object();
 
     public static ReflectionCache get() {
@@ -55,10 +62,14 @@ public class ReflectionCache {
 
     private Map<String, Class<?>> classes;
     private Map<Class<?>, Set<Invoker>> invokers;
+    private Map<Class<?>, Map<String, Invoker>> setters;
+    private Map<Class<?>, Map<List<String>, Map<String, Invoker>>> groupSetters;
 
     private ReflectionCache() {
         classes = new ConcurrentHashMap<>();
         invokers = new ConcurrentHashMap<>();
+        setters = new ConcurrentHashMap<>();
+        groupSetters = new ConcurrentHashMap<>();
     }
 
     /*
@@ -190,12 +201,8 @@ public class ReflectionCache {
     }
 
     private static void createSpecific(Map<String, Object> possible, Object o, Class<?> clazz, List<String> groups) throws IllegalAccessException, InvocationTargetException, InstantiationException {
-        Collection<Invoker> invokers = get().getInvokers(clazz);
-        for (Invoker i : invokers) {
-            if (i.setEnabled()) {
-                if (inGroup(i.getSetterGroups(), groups))
-                    i.set(o, possible.get(i.getSetterName()));
-            }
+        for (Invoker i : get().getSetters(clazz, groups).values()) {
+            i.set(o, possible.get(i.getSetterName()));
         }
     }
 
@@ -268,6 +275,55 @@ public class ReflectionCache {
     public void clear() {
         classes.clear();
         invokers.clear();
+        setters.clear();
+        groupSetters.clear();
+    }
+
+    /**
+     * Returns enabled setters of class by property name, in order to find setter for key while reading JSON
+     * @param clazz class to get setters for
+     * @return map of property name to its invoker, empty if class has no setters
+     */
+    public Map<String, Invoker> getSetters(Class<?> clazz) {
+        Map<String, Invoker> setters = this.setters.get(clazz);
+        if (setters != null)
+            return setters;
+        setters = new HashMap<>();
+        for (Invoker i : getInvokers(clazz)) {
+            if (i.setEnabled())
+                setters.put(i.getSetterName(), i);
+        }
+        setters = Collections.unmodifiableMap(setters);
+        this.setters.put(clazz, setters);
+        return setters;
+    }
+
+    /**
+     * Returns enabled setters of class, which are in specified groups, by property name. Result is computed once
+     * per class and groups, so parser knows ahead which properties are wanted and could skip the others
+     * @param clazz class to get setters for
+     * @param groups requested groups, null or empty for all setters
+     * @return map of property name to its invoker
+     */
+    public Map<String, Invoker> getSetters(Class<?> clazz, List<String> groups) {
+        if (groups == null || groups.isEmpty())
+            return getSetters(clazz);
+        Map<List<String>, Map<String, Invoker>> byGroups = groupSetters.get(clazz);
+        if (byGroups == null) {
+            byGroups = new ConcurrentHashMap<>();
+            groupSetters.put(clazz, byGroups);
+        }
+        Map<String, Invoker> setters = byGroups.get(groups);
+        if (setters != null)
+            return setters;
+        setters = new HashMap<>();
+        for (Invoker i : getSetters(clazz).values()) {
+            if (inGroup(i.getSetterGroups(), groups))
+                setters.put(i.getSetterName(), i);
+        }
+        setters = Collections.unmodifiableMap(setters);
+        byGroups.put(new ArrayList<>(groups), setters);
+        return setters;
     }
 
     public Collection<Invoker> getInvokers(Class<?> clazz) {
@@ -368,6 +424,14 @@ public class ReflectionCache {
     public static Object getPrimitive(Class<?> clazz, Object value) throws InstantiationException {
         if (value == null)
             return null;
+        // parser already produces numbers, convert them without formatting and parsing again
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            Object n = fromLong(clazz, ((Number) value).longValue());
+            if (n != null)
+                return n;
+        } else if (value instanceof Double && (Double.TYPE.equals(clazz) || Double.class.equals(clazz))) {
+            return value;
+        }
         if (Byte.TYPE.equals(clazz) || Byte.class.equals(clazz)) {
             Byte b = Byte.valueOf(String.valueOf(value));
             if (b != null && Byte.TYPE.equals(clazz))
@@ -414,6 +478,21 @@ public class ReflectionCache {
         throw new InstantiationException("Invalid type" + clazz + " for value " + value); // should never occur
     }
 
+    // null if value doesn't fit type, then the regular conversion reports failure
+    private static Object fromLong(Class<?> clazz, long l) {
+        if (Long.TYPE.equals(clazz) || Long.class.equals(clazz))
+            return l;
+        if (Integer.TYPE.equals(clazz) || Integer.class.equals(clazz))
+            return l == (int) l ? (Object) (int) l : null;
+        if (Short.TYPE.equals(clazz) || Short.class.equals(clazz))
+            return l == (short) l ? (Object) (short) l : null;
+        if (Byte.TYPE.equals(clazz) || Byte.class.equals(clazz))
+            return l == (byte) l ? (Object) (byte) l : null;
+        if (Double.TYPE.equals(clazz) || Double.class.equals(clazz))
+            return (double) l;
+        return null;
+    }
+
     private static boolean isPrimitiveLike(Class<?> clazz) {
         return clazz.isPrimitive() || Boolean.class.equals(clazz) || Byte.class.equals(clazz) ||
                 Short.class.equals(clazz) || Character.class.equals(clazz) ||
@@ -489,7 +568,7 @@ public class ReflectionCache {
     private static Object getValue(Class<?> expected, Class<?>[] generic, Object data, int dateTimeType, String format) throws InstantiationException {
         if (data == null)
             return null;
-        boolean hasJsonAnot = expected.getAnnotation(JsonClass.class) != null;
+        boolean hasJsonAnot = jsonClasses.get(expected);
         if (hasJsonAnot && expected.isAssignableFrom(data.getClass())) {
             return expected.cast(data);
         }
@@ -523,11 +602,26 @@ public class ReflectionCache {
                     }
             }
         } else if (expected.equals(String.class)) {
-            return StringEscapeUtils.unescapeJson((String)data);
+            // already unescaped by tokenizer
+            return (String)data;
+        } else if (expected.isArray() && expected.isInstance(data)) {
+            // e.g. primitive array decoded by parser
+            return data;
         } else if (expected.isArray() && data instanceof Collection) {
             Collection<?> l = ((Collection) data);
-            Object ar = Array.newInstance(expected.getComponentType(), l.size());
-            System.arraycopy(l.toArray(), 0, ar, 0, l.size());
+            Class<?> component = expected.getComponentType();
+            Object ar = Array.newInstance(component, l.size());
+            if (component.isPrimitive()) {
+                // System.arraycopy can't unbox elements, empty (null) elements are left default, as fill does
+                int i = 0;
+                for (Object o : l) {
+                    if (!"".equals(o))
+                        Array.set(ar, i, getValue(component, null, o));
+                    i++;
+                }
+            } else {
+                System.arraycopy(l.toArray(), 0, ar, 0, l.size());
+            }
             return ar;
         } else if (Collection.class.isAssignableFrom(expected) && data.getClass().isArray()) {
             return getCollectionValueFromList(expected, generic, data);
@@ -573,37 +667,71 @@ public class ReflectionCache {
     }
 
     public static void fill(Method m, Class[] generics, Object owner, Object data) throws IllegalArgumentException, IllegalAccessException, InstantiationException, InvocationTargetException {
+        fill(m, m.getParameterTypes()[0], generics, m.getAnnotation(DateField.class), null, owner, data);
+    }
+
+    /**
+     * Same as {@link #fill(Method, Class[], Object, Object)} with parameter type and annotation resolved ahead
+     * @param setter handle of m, see {@link Accessors#setter(Method)}, or null to invoke m by reflection
+     */
+    static void fill(Method m, Class<?> type, Class<?>[] generics, DateField dateField, MethodHandle setter, Object owner, Object data) throws IllegalArgumentException, IllegalAccessException, InstantiationException, InvocationTargetException {
         if (data == null || data instanceof String && "".equals(data)) {
             return;
         }
 
-        int dateType = -1;
-        String format = "";
-        if (m.isAnnotationPresent(DateField.class)) {
-            dateType = m.getAnnotation(DateField.class).type();
-            format = m.getAnnotation(DateField.class).format();
-        }
-
-        Object value = getValue(m.getParameterTypes()[0], generics, data, dateType, format);
+        Object value = getValue(type, generics, data, dateField);
         if (owner == null)
             throw new IllegalArgumentException("Trying to invoke setter " + m.getName() + " for value " + String.valueOf(value) + " for Object which is null");
-        m.setAccessible(true);
-        if (value == null || isAssignableFrom(m.getParameterTypes()[0], value.getClass()))
+        if (value != null && setter != null) {
+            if (isAssignableFrom(type, value.getClass()))
+                Accessors.invokeSetter(setter, owner, value);
+        } else if (value == null || isAssignableFrom(type, value.getClass())) {
+            // null for primitive fails the same way as before
+            m.setAccessible(true);
             m.invoke(owner, value);
+        }
     }
 
     public static void fill(Field f, Class[] generics, Object owner, Object data) throws IllegalArgumentException, IllegalAccessException, InstantiationException {
+        fill(f, generics(f, generics), f.getAnnotation(DateField.class), null, owner, data);
+    }
+
+    /**
+     * Same as {@link #fill(Field, Class[], Object, Object)} with generics and annotation resolved ahead
+     * @param setter handle of f, see {@link Accessors#setter(Field)}, or null to set f by reflection
+     */
+    static void fill(Field f, Class<?>[] generics, DateField dateField, MethodHandle setter, Object owner, Object data) throws IllegalArgumentException, IllegalAccessException, InstantiationException {
         if (data == null || data instanceof String && "".equals(data)) {
             return;
         }
 
-        int dateType = -1;
-        String format = "";
-        if (f.isAnnotationPresent(DateField.class)) {
-            dateType = f.getAnnotation(DateField.class).type();
-            format = f.getAnnotation(DateField.class).format();
+        Object value = getValue(f.getType(), generics, data, dateField);
+        if (owner == null)
+            throw new IllegalArgumentException("Trying to set field " + f.getName() + " for value " + String.valueOf(value) + " for Object which is null");
+        if (value != null && setter != null) {
+            if (isAssignableFrom(f.getType(), value.getClass()))
+                Accessors.setField(setter, owner, value);
+        } else if (value == null || isAssignableFrom(f.getType(), value.getClass())) {
+            f.setAccessible(true);
+            f.set(owner, value);
         }
+    }
+
+    /**
+     * @param type type of property
+     * @return false, if {@link #getValue(Class, Class[], Object, DateField)} returns value of property itself
+     * (equal boxed primitive or String), so property read by getter could be used as is
+     */
+    static boolean needsConversion(Class<?> type) {
+        return !type.isPrimitive() && !String.class.equals(type);
+    }
 
+    /**
+     * @param f field to fill
+     * @param generics default generics
+     * @return type arguments of parametrized field, or generics if field isn't parametrized
+     */
+    static Class<?>[] generics(Field f, Class<?>[] generics) {
         if (f.getGenericType() != null && f.getGenericType() instanceof ParameterizedType) {
             Type[] types = ((ParameterizedType)f.getGenericType()).getActualTypeArguments();
             if (types != null && types.length > 0) {
@@ -614,13 +742,7 @@ public class ReflectionCache {
                 }
             }
         }
-
-        Object value = getValue(f.getType(), generics, data, dateType, format);
-        if (owner == null)
-            throw new IllegalArgumentException("Trying to set field " + f.getName() + " for value " + String.valueOf(value) + " for Object which is null");
-        f.setAccessible(true);
-        if (value == null || isAssignableFrom(f.getType(), value.getClass()))
-            f.set(owner, value);
+        return generics;
     }
 
     private static boolean isAssignableFrom(Class<?> clazzSource, Class<?> clazzDest) {
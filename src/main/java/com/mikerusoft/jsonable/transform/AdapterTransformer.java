@@ -32,25 +32,26 @@ public class AdapterTransformer extends TransformerImpl {
         ParserAdapter<?> adapter = ConfInfo.getAdapter(o.getClass());
         Collection<MethodWrapper> methodWrappers = adapter.getParams();
 
-        out.write("{");
+        write(out, '{');
         int count=0;
         for (MethodWrapper wrapper : methodWrappers) {
             Method m = wrapper.getGetter();
             if (m != null) {
                 Object res = m.invoke(o);
                 if (count > 0)
-                    out.write(",");
-                out.write("\"" + wrapper.getName() + "\":");
+                    write(out, ',');
+                write(out, '"');
+                out.write(wrapper.getName());
+                out.write("\":");
                 TransformerFactory.get(res).transform(res, out, groups);
                 count++;
             }
         }
         boolean excludeClass = ConfInfo.isExcludeClass(); // Configuration.getBooleanProperty(c, Configuration.EXCLUDE_CLASS_PROPERTY, false);
         if (!excludeClass && count > 0) {
-            String cl = ConfInfo.getClassProperty(); // Configuration.getStringProperty(c, Configuration.CLASS_PROPERTY, Configuration.DEFAULT_CLASS_PROPERTY_VALUE);
-            out.write((",\"" + cl + "\":\"" + o.getClass().getName() + "\""));
+            writeClassProperty(out, o);
         }
-        out.write("}");
+        write(out, '}');
     }
 
     @Override
@@ -27,15 +27,20 @@ public class ArrayTransformer extends TransformerImpl {
 
     @Override
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
-        out.write("[");
+        transform(o, out, WriteContext.of(groups));
+    }
+
+    @Override
+    void transform(Object o, Outputter<String> out, WriteContext context) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
+        write(out, '[');
         int length = Array.getLength(o);
         for (int i=0; i<length; i++) {
             Object p = Array.get(o, i);
-            TransformerFactory.get(p).transform(p, out, groups);
+            writeValue(TransformerFactory.get(p), p, out, context);
             if (i != length - 1)
-                out.write(",");
+                write(out, ',');
         }
-        out.write("]");
+        write(out, ']');
     }
 
     @Override public int matchPriority() { return Transformer.HIGH_PRIORITY; }
@@ -0,0 +1,63 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 tokenizer over one or more {@link ByteBuffer}s, e.g. memory mapped file split into several regions.
+ * Heap buffers are scanned in place through their backing array. Direct (and mapped) buffers have no array,
+ * so they are read by bulk get into reusable window, which is plain memory copy without any system call.
+ * Buffers are read from their position to their limit, position of given buffers is not changed.
+ * @since 10/18/2026.
+ */
+public class ByteBufferTokenizer extends Utf8Tokenizer {
+
+    private final ByteBuffer[] buffers;
+    private int current = 0;
+    private ByteBuffer reading;
+    private byte[] window;
+    private boolean first = true;
+
+    public ByteBufferTokenizer(ByteBuffer... buffers) {
+        this.buffers = buffers;
+        this.buf = new byte[0];
+    }
+
+    @Override
+    protected boolean fill() throws IOException {
+        while (reading != null || current < buffers.length) {
+            if (reading == null) {
+                ByteBuffer b = buffers[current++];
+                if (!b.hasRemaining())
+                    continue;
+                if (b.hasArray()) {
+                    window(b.array(), b.arrayOffset() + b.position(), b.arrayOffset() + b.limit());
+                    return true;
+                }
+                reading = b.duplicate();
+            }
+            if (window == null)
+                window = new byte[BUFFER_SIZE];
+            int n = Math.min(window.length, reading.remaining());
+            reading.get(window, 0, n);
+            if (!reading.hasRemaining())
+                reading = null;
+            window(window, 0, n);
+            return true;
+        }
+        offset += limit;
+        pos = limit = 0;
+        return false;
+    }
+
+    private void window(byte[] data, int start, int end) {
+        offset += limit - start;
+        buf = data;
+        pos = start;
+        limit = end;
+        if (first) {
+            first = false;
+            skipBom();
+        }
+    }
+}
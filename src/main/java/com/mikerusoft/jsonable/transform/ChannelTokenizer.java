@@ -0,0 +1,42 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * UTF-8 tokenizer over blocking {@link ReadableByteChannel}. Channel reads directly into the tokenizer's window,
+ * through ByteBuffer wrapping it, so there is no stream layer and no intermediate buffer.
+ * @since 10/18/2026.
+ */
+public class ChannelTokenizer extends Utf8Tokenizer {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer window;
+
+    public ChannelTokenizer(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buf = new byte[BUFFER_SIZE];
+        this.window = ByteBuffer.wrap(buf);
+    }
+
+    @Override
+    protected boolean fill() throws IOException {
+        int n;
+        do {
+            window.clear();
+            n = channel.read(window);
+        } while (n == 0);
+        offset += limit;
+        pos = 0;
+        limit = n < 0 ? 0 : n;
+        if (offset == 0)
+            skipBom();
+        return n > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,306 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizer over characters. Reads input in large chunks into reusable char[] window and scans it
+ * with index arithmetic, instead of reading character by character from (synchronized) {@link java.io.BufferedReader}.
+ * When created over char[] the whole data is the window and no reading is done at all. String is read the same
+ * way as Reader, by copying its chars window by window, so the whole input isn't copied.
+ * @since 10/18/2026.
+ */
+public class CharTokenizer extends JsonTokenizer {
+
+    public static final int BUFFER_SIZE = 16 * 1024;
+
+    private Reader reader;
+    // String input and position of its next window
+    private String source;
+    private int sourcePos;
+    private char[] buf;
+    // own buffer, kept between resets
+    private char[] window;
+    private int pos;
+    private int limit;
+    private long offset;
+    private final StringBuilder sb = new StringBuilder();
+
+    public CharTokenizer(Reader reader) {
+        this.reader = reader;
+        this.buf = this.window = new char[BUFFER_SIZE];
+    }
+
+    public CharTokenizer(String data) {
+        this.source = data;
+        this.buf = this.window = new char[Math.min(data.length(), BUFFER_SIZE)];
+    }
+
+    public CharTokenizer(char[] data, int off, int len) {
+        this.buf = data;
+        this.pos = off;
+        this.limit = off + len;
+        this.offset = -off;
+    }
+
+    /**
+     * Starts reading new input, keeping buffers of this tokenizer
+     * @param reader new input
+     * @return this tokenizer
+     */
+    public CharTokenizer reset(Reader reader) {
+        reset();
+        if (window == null)
+            window = new char[BUFFER_SIZE];
+        this.reader = reader;
+        this.source = null;
+        this.buf = window;
+        this.pos = this.limit = 0;
+        this.offset = 0;
+        return this;
+    }
+
+    /**
+     * Starts reading new input, keeping buffers of this tokenizer. Characters of data are copied window by window
+     * @param data new input
+     * @return this tokenizer
+     */
+    public CharTokenizer reset(String data) {
+        reset();
+        // window of short String created this tokenizer is too small for longer ones
+        if (window == null || window.length < Math.min(data.length(), BUFFER_SIZE))
+            window = new char[BUFFER_SIZE];
+        this.reader = null;
+        this.source = data;
+        this.sourcePos = 0;
+        this.buf = window;
+        this.pos = this.limit = 0;
+        this.offset = 0;
+        return this;
+    }
+
+    /**
+     * Starts reading new input, keeping buffers of this tokenizer
+     * @param data new input
+     * @param off start of input in data
+     * @param len length of input
+     * @return this tokenizer
+     */
+    public CharTokenizer reset(char[] data, int off, int len) {
+        reset();
+        this.reader = null;
+        this.source = null;
+        this.buf = data;
+        this.pos = off;
+        this.limit = off + len;
+        this.offset = -off;
+        return this;
+    }
+
+    @Override
+    protected int peek() throws IOException {
+        do {
+            while (pos < limit) {
+                char c = buf[pos];
+                if (c > SPACE_CHAR || !isWhiteSpace(c))
+                    return c;
+                pos++;
+            }
+        } while (fill());
+        return -1;
+    }
+
+    @Override
+    protected void consume() { pos++; }
+
+    @Override
+    protected String readString(int quote) throws IOException {
+        int start = pos;
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c == quote) {
+                // no escapes and whole string is in window - String is created directly from it
+                pos++;
+                return new String(buf, start, pos - start - 1);
+            }
+            if (c == ESCAPE_CHAR)
+                break;
+            pos++;
+        }
+        sb.setLength(0);
+        boolean escaped = false;
+        boolean hasEscapes = false;
+        pos = start;
+        do {
+            start = pos;
+            while (pos < limit) {
+                char c = buf[pos++];
+                if (escaped) {
+                    escaped = false;
+                } else if (c == ESCAPE_CHAR) {
+                    escaped = hasEscapes = true;
+                } else if (c == quote) {
+                    sb.append(buf, start, pos - start - 1);
+                    return hasEscapes ? unescape(sb.toString()) : sb.toString();
+                }
+            }
+            sb.append(buf, start, pos - start);
+        } while (fill());
+        throw endOfInput();
+    }
+
+    @Override
+    protected String readKeyString(int quote) throws IOException {
+        int start = pos;
+        int hash = 0;
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c == quote) {
+                pos++;
+                return keys().get(buf, start, pos - start - 1, hash);
+            }
+            if (c == ESCAPE_CHAR)
+                break;
+            hash = 31 * hash + c;
+            pos++;
+        }
+        // escaped or crossing end of window
+        pos = start;
+        return readString(quote);
+    }
+
+    @Override
+    protected String readWord() throws IOException {
+        int start = pos;
+        while (pos < limit) {
+            if (isWordEnd(buf[pos]))
+                return new String(buf, start, pos - start);
+            pos++;
+        }
+        // word crosses end of window
+        sb.setLength(0);
+        sb.append(buf, start, pos - start);
+        while (fill()) {
+            start = pos;
+            while (pos < limit && !isWordEnd(buf[pos]))
+                pos++;
+            sb.append(buf, start, pos - start);
+            if (pos < limit)
+                break;
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected int readScalar() throws IOException {
+        if (NumberScanner.isStart(buf[pos]))
+            return readNumber();
+        int start = pos;
+        while (pos < limit) {
+            if (isWordEnd(buf[pos])) {
+                int t = literal(buf, start, pos - start);
+                if (t == SCALAR)
+                    text = new String(buf, start, pos - start);
+                return t;
+            }
+            pos++;
+        }
+        // word crosses end of window
+        pos = start;
+        return literal(readWord());
+    }
+
+    @Override
+    protected void skipString(int quote) throws IOException {
+        boolean escaped = false;
+        do {
+            while (pos < limit) {
+                char c = buf[pos++];
+                if (escaped)
+                    escaped = false;
+                else if (c == ESCAPE_CHAR)
+                    escaped = true;
+                else if (c == quote)
+                    return;
+            }
+        } while (fill());
+        throw endOfInput();
+    }
+
+    @Override
+    protected void skipWord() throws IOException {
+        do {
+            while (pos < limit) {
+                if (isWordEnd(buf[pos]))
+                    return;
+                pos++;
+            }
+        } while (fill());
+    }
+
+    @Override
+    public long getOffset() { return offset + pos; }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null)
+            reader.close();
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        reader = null;
+        source = null;
+        buf = null;
+        pos = limit = 0;
+        if (sb.capacity() > BUFFER_SIZE) {
+            sb.setLength(0);
+            sb.trimToSize();
+        }
+    }
+
+    private int readNumber() throws IOException {
+        NumberScanner n = number;
+        n.reset();
+        do {
+            while (pos < limit) {
+                char c = buf[pos];
+                if (!n.accept(c)) {
+                    if (isWordEnd(c))
+                        return finishNumber();
+                    // starts as number, but it isn't, e.g. 12ab
+                    text = n.text() + readWord();
+                    return SCALAR;
+                }
+                pos++;
+            }
+        } while (fill());
+        return finishNumber();
+    }
+
+    private boolean fill() throws IOException {
+        if (source != null)
+            return fillFromSource();
+        if (reader == null)
+            return false;
+        int n;
+        do {
+            n = reader.read(buf, 0, buf.length);
+        } while (n == 0);
+        offset += limit;
+        pos = 0;
+        limit = n < 0 ? 0 : n;
+        return n > 0;
+    }
+
+    private boolean fillFromSource() {
+        int n = Math.min(buf.length, source.length() - sourcePos);
+        source.getChars(sourcePos, sourcePos + n, buf, 0);
+        sourcePos += n;
+        offset += limit;
+        pos = 0;
+        limit = n;
+        return n > 0;
+    }
+}
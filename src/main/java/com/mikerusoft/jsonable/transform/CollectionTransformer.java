@@ -23,16 +23,21 @@ public class CollectionTransformer extends TransformerImpl {
 
     @Override
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        transform(o, out, WriteContext.of(groups));
+    }
+
+    @Override
+    void transform(Object o, Outputter<String> out, WriteContext context) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
         Collection<?> l = (Collection<?>) o;
-        out.write("[");
+        write(out, '[');
         int i = 0;
         for (Object p : l) {
-            TransformerFactory.get(p).transform(p, out, groups);
+            writeValue(TransformerFactory.get(p), p, out, context);
             if (i != l.size() - 1)
-                out.write(",");
+                write(out, ',');
             i++;
         }
-        out.write("]");
+        write(out, ']');
     }
 
     @Override
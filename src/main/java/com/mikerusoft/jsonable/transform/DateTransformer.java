@@ -45,7 +45,7 @@ public class DateTransformer  extends TransformerImpl {
         int type = ao.getAnnotation(DateField.class) != null ? ao.getAnnotation(DateField.class).type() : TIMESTAMP_TYPE;
         switch (type) {
             case TIMESTAMP_TYPE:
-                out.write(String.valueOf(((Date) o).getTime()));
+                write(out, ((Date) o).getTime());
                 break;
             case STRING_TYPE:
                 String format = ao.getAnnotation(DateField.class).format();
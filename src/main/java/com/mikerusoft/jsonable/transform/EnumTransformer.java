@@ -30,10 +30,15 @@ public class EnumTransformer  extends TransformerImpl {
         boolean asClass = ConfInfo.isEnumAsClass(); // Configuration.getBooleanProperty(c, Configuration.ENUM_AS_CLASS_PROPERTY, false);
         boolean excludeClass = ConfInfo.isExcludeClass(); // Configuration.getBooleanProperty(c, Configuration.EXCLUDE_CLASS_PROPERTY, false);
         if (asClass && !excludeClass) {
-            String cl = ConfInfo.getClassProperty(); // Configuration.getStringProperty(c, Configuration.CLASS_PROPERTY, Configuration.DEFAULT_CLASS_PROPERTY_VALUE);
-            out.write("{\"name\" : \"" + ((Enum) o).name() + "\",\"" + cl + "\":\"" + o.getClass().getName() + "\"}");
+            out.write("{\"name\" : \"");
+            out.write(((Enum) o).name());
+            write(out, '"');
+            writeClassProperty(out, o);
+            write(out, '}');
         } else {
-            out.write(("\"" + StringEscapeUtils.escapeJson(((Enum) o).name()) + "\""));
+            write(out, '"');
+            out.write(StringEscapeUtils.escapeJson(((Enum) o).name()));
+            write(out, '"');
         }
     }
 
@@ -1,16 +1,12 @@
 package com.mikerusoft.jsonable.transform;
 
 import com.mikerusoft.jsonable.annotations.*;
-import com.mikerusoft.jsonable.refelection.Invoker;
-import com.mikerusoft.jsonable.refelection.ReflectionCache;
-import com.mikerusoft.jsonable.utils.ConfInfo;
 import com.mikerusoft.jsonable.utils.Outputter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.*;
 
 /**
  * Transformer for classes defined with annotation @JsonClass
@@ -33,48 +29,33 @@ public class JsonDefinedTransformer extends TransformerImpl {
 
     @Override
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        Class<?> clazz = o.getClass();
+        transform(o, out, WriteContext.of(groups));
+    }
 
-        out.write("{");
+    @Override
+    void transform(Object o, Outputter<String> out, WriteContext context) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // properties, null policy and class tag are resolved once per class and context
+        WritePlan plan = context.plan(o.getClass());
 
-        // Configuration c = ContextManager.get(Configuration.class);
-        boolean includeNull = ConfInfo.isIncludeNull(); // Configuration.getBooleanProperty(c, Configuration.INCLUDE_NULL_PROPERTY, false);
+        write(out, '{');
         // TODO: we need to ensure that if method or field with the same property name has been executed - don't do it again for overridden methods
         int count = 0;
-
-        Collection<Invoker> invokers = ReflectionCache.get().getInvokers(clazz);
-        for (Invoker i : invokers) {
-            if (i.getEnabled()) {
-                if (ReflectionCache.inGroup(i.getSetterGroups(), groups)) {
-                    Object part = i.get(o);
-                    if (includeNull || displayNullField(i) || part != null) {
-                        String name = i.getGetterName();
-                        if (count != 0) {
-                            out.write(",");
-                        }
-                        out.write("\"");
-                        out.write(name.replaceAll("\"", "\\\""));
-                        out.write("\":");
-                        TransformerFactory.get(part).transform(part, out, groups);
-                        count++;
-                    }
+        for (WritePlan.Property p : plan.properties) {
+            Object part = p.invoker.get(o);
+            if (p.writeNull || part != null) {
+                if (count != 0) {
+                    write(out, ',');
                 }
+                write(out, p.prefix, p.prefixBytes);
+                writeValue(p.transformer(part), part, out, context);
+                count++;
             }
         }
 
-        if (count > 0) {
-            boolean excludeClass = ConfInfo.isExcludeClass(); // Configuration.getBooleanProperty(c, Configuration.EXCLUDE_CLASS_PROPERTY, false);
-            if (!excludeClass) {
-                String cl = ConfInfo.getClassProperty(); // Configuration.getStringProperty(c, Configuration.CLASS_PROPERTY, Configuration.DEFAULT_CLASS_PROPERTY_VALUE);
-                out.write((",\"" + cl + "\":\"" + o.getClass().getName() + "\""));
-            }
+        if (count > 0 && plan.classTag != null) {
+            out.write(plan.classTag);
         }
-        out.write("}");
-    }
-
-    private boolean displayNullField(Invoker ao) {
-        DisplayNull dn = ao.getGetterAnnotation(DisplayNull.class);
-        return dn != null && dn.value();
+        write(out, '}');
     }
 
     @Override public int matchPriority() { return Transformer.HIGH_PRIORITY - 1; }
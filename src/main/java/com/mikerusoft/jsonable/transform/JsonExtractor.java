@@ -0,0 +1,190 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Extracts values by JSON Pointers (RFC 6901) without building the whole tree. Segment <code>*</code> matches any key
+ * or array index. Only matched values are parsed (by {@link JsonParser}), everything else is skipped by tokenizer
+ * without creating Maps, Lists or Strings. Reading stops as soon as all pointers without wildcard are found
+ * (if there are no wildcard pointers).
+ * @since 10/18/2026.
+ */
+public class JsonExtractor {
+
+    private static final String WILDCARD = "*";
+
+    private final JsonParser parser;
+    private final Node root = new Node(null, false);
+    private final Map<String, Object> result = new LinkedHashMap<>();
+    private int remaining = 0;
+    private boolean hasWildcard = false;
+
+    public JsonExtractor(JsonParser parser, String...pointers) {
+        this.parser = parser;
+        for (String pointer : pointers)
+            add(pointer);
+    }
+
+    /**
+     * Extracts values from tokenizer
+     * @param tokenizer tokenizer to read JSON from
+     * @return map of pointer to its value. Values of pointers with wildcard are Lists of all matched values
+     * (in order of appearance), pointers without wildcard, which are not found, are absent
+     */
+    public Map<String, Object> extract(JsonTokenizer tokenizer) throws IOException, IllegalArgumentException, InstantiationException {
+        int token = tokenizer.next();
+        if (token != JsonTokenizer.EOF)
+            walk(tokenizer, token, root.self);
+        return result;
+    }
+
+    private void add(String pointer) {
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/')
+            throw new IllegalArgumentException("JSON Pointer should start with '/': " + pointer);
+        Node node = root;
+        boolean wildcard = false;
+        if (!pointer.isEmpty()) {
+            for (String segment : pointer.substring(1).split("/", -1)) {
+                boolean any = WILDCARD.equals(segment);
+                wildcard |= any;
+                node = node.child(any ? null : segment.replace("~1", "/").replace("~0", "~"), any);
+            }
+        }
+        if (node.pointers == null)
+            node.pointers = new ArrayList<>();
+        node.pointers.add(pointer);
+        node.multiple = wildcard;
+        if (wildcard) {
+            hasWildcard = true;
+            result.put(pointer, new ArrayList<>());
+        } else {
+            remaining++;
+        }
+    }
+
+    private boolean done() {
+        return remaining <= 0 && !hasWildcard;
+    }
+
+    // nodes are all pointer nodes, which match current value
+    private void walk(JsonTokenizer tokenizer, int token, List<Node> nodes) throws IOException, InstantiationException {
+        for (Node n : nodes) {
+            if (n.pointers != null) {
+                Object value = parser.parseValue(tokenizer, token);
+                for (Node m : nodes)
+                    record(m, value);
+                return;
+            }
+        }
+        if (token == JsonTokenizer.MAP_START) {
+            while ((token = tokenizer.next()) == JsonTokenizer.KEY) {
+                List<Node> matched = match(nodes, tokenizer.getText(), -1);
+                if (matched == null)
+                    tokenizer.skipValue();
+                else
+                    walk(tokenizer, tokenizer.next(), matched);
+                if (done())
+                    return;
+            }
+        } else if (token == JsonTokenizer.LIST_START) {
+            for (int index = 0; ; index++) {
+                List<Node> matched = match(nodes, null, index);
+                if (matched == null) {
+                    if (tokenizer.skipValue() == JsonTokenizer.LIST_END)
+                        return;
+                } else {
+                    token = tokenizer.next();
+                    if (token == JsonTokenizer.LIST_END)
+                        return;
+                    walk(tokenizer, token, matched);
+                }
+                if (done())
+                    return;
+            }
+        }
+    }
+
+    private static List<Node> match(List<Node> nodes, String key, int index) {
+        List<Node> matched = null;
+        for (Node n : nodes) {
+            for (Node c : n.children) {
+                if (c.wildcard || (key != null ? key.equals(c.name) : index == c.index)) {
+                    if (matched == null) {
+                        matched = c.self;
+                    } else {
+                        // singleton list of node is shared, copy it before adding
+                        if (matched.size() == 1)
+                            matched = new ArrayList<>(matched);
+                        matched.add(c);
+                    }
+                }
+            }
+        }
+        return matched;
+    }
+
+    // stores value for pointers ending in node, and looks for longer pointers inside already parsed value
+    private void record(Node node, Object value) {
+        if (node.pointers != null) {
+            for (String pointer : node.pointers) {
+                if (node.multiple) {
+                    @SuppressWarnings("unchecked")
+                    List<Object> values = (List<Object>) result.get(pointer);
+                    values.add(value);
+                } else if (!result.containsKey(pointer)) {
+                    result.put(pointer, value);
+                    remaining--;
+                }
+            }
+        }
+        for (Node c : node.children) {
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    if (c.wildcard || String.valueOf(e.getKey()).equals(c.name))
+                        record(c, e.getValue());
+                }
+            } else if (value instanceof List) {
+                List<?> l = (List<?>) value;
+                for (int i = 0; i < l.size(); i++) {
+                    if (c.wildcard || i == c.index)
+                        record(c, l.get(i));
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        final String name;
+        final int index;
+        final boolean wildcard;
+        final List<Node> self = Collections.singletonList(this);
+        final List<Node> children = new ArrayList<>();
+        List<String> pointers;
+        boolean multiple;
+
+        Node(String name, boolean wildcard) {
+            this.name = name;
+            this.wildcard = wildcard;
+            this.index = name != null && !name.isEmpty() && name.length() < 10 && isDigits(name) ? Integer.parseInt(name) : -1;
+        }
+
+        Node child(String name, boolean wildcard) {
+            for (Node c : children) {
+                if (c.wildcard == wildcard && (wildcard || c.name.equals(name)))
+                    return c;
+            }
+            Node c = new Node(name, wildcard);
+            children.add(c);
+            return c;
+        }
+
+        private static boolean isDigits(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) < '0' || s.charAt(i) > '9')
+                    return false;
+            }
+            return true;
+        }
+    }
+}
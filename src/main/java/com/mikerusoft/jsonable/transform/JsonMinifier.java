@@ -0,0 +1,114 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Streams UTF-8 JSON to output without white spaces. Input is validated by the same tokenizer as {@link JsonParser}
+ * uses (in skip mode, so no values are created), and consumed bytes are copied as they are, except of white spaces
+ * outside of strings - strings, numbers and escapes are not re-encoded. Several top level values are separated
+ * by new line, the same way as JSON Lines.
+ * @since 10/18/2026.
+ */
+public final class JsonMinifier {
+
+    private static final int OUTPUT_SIZE = 8 * 1024;
+
+    private JsonMinifier() {}
+
+    /**
+     * Copies JSON from in to out without white spaces. Streams are not closed
+     * @param in UTF-8 JSON
+     * @param out output for minified JSON
+     * @throws IOException on failure reading or writing
+     * @throws IllegalArgumentException on invalid JSON, out contains minified JSON till the error
+     */
+    public static void minify(InputStream in, OutputStream out) throws IOException, IllegalArgumentException {
+        CopyingTokenizer tokenizer = new CopyingTokenizer(in, out);
+        try {
+            while (tokenizer.skipValue() != JsonTokenizer.EOF) {
+                tokenizer.copy();
+                tokenizer.separate = true;
+            }
+        } finally {
+            tokenizer.flush();
+        }
+    }
+
+    /**
+     * Tokenizer, which copies consumed bytes to output before its window is refilled
+     */
+    private static final class CopyingTokenizer extends Utf8Tokenizer {
+
+        private final OutputStream out;
+        private final byte[] output = new byte[OUTPUT_SIZE];
+        private int size = 0;
+        // start of consumed, but not yet copied bytes of window
+        private int mark;
+        private boolean inString = false;
+        private boolean escaped = false;
+        private byte quote;
+        // last copied byte outside of strings, 0 before the first one
+        private byte last = 0;
+        private boolean separate = false;
+
+        private CopyingTokenizer(InputStream in, OutputStream out) {
+            super(in);
+            this.out = out;
+        }
+
+        @Override
+        protected boolean fill() throws IOException {
+            copy();
+            boolean filled = super.fill();
+            mark = pos;
+            return filled;
+        }
+
+        private void copy() throws IOException {
+            for (int i = mark; i < pos; i++) {
+                byte b = buf[i];
+                if (inString) {
+                    if (escaped)
+                        escaped = false;
+                    else if (b == ESCAPE_CHAR)
+                        escaped = true;
+                    else if (b == quote)
+                        inString = false;
+                } else if (b == SPACE_CHAR || b == END_LINE || b == END_LINE_CARET || b == TAB_CHAR) {
+                    continue;
+                } else {
+                    boolean valueStart = last == 0 || separate || isStructural(last) && last != END_MAP && last != END_ARRAY;
+                    if (separate) {
+                        separate = false;
+                        write(END_LINE);
+                    }
+                    // the same as tokenizer: quote starts string only at start of key or value, not inside word
+                    if (b == STRING_CHAR || b == CHAR_CHAR && valueStart) {
+                        inString = true;
+                        quote = b;
+                    }
+                    last = b;
+                }
+                write(b);
+            }
+            mark = pos;
+        }
+
+        private void write(int b) throws IOException {
+            if (size == output.length) {
+                out.write(output, 0, size);
+                size = 0;
+            }
+            output[size++] = (byte) b;
+        }
+
+        private void flush() throws IOException {
+            if (size > 0)
+                out.write(output, 0, size);
+            size = 0;
+            out.flush();
+        }
+    }
+}
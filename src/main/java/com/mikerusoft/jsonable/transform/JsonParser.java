@@ -1,17 +1,25 @@
 package com.mikerusoft.jsonable.transform;
 
+import com.mikerusoft.jsonable.adapters.ReadInstanceFactory;
+import com.mikerusoft.jsonable.refelection.Invoker;
 import com.mikerusoft.jsonable.utils.ConfInfo;
 import com.mikerusoft.jsonable.refelection.ReflectionCache;
-import org.apache.commons.lang3.StringEscapeUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
+import com.mikerusoft.jsonable.utils.ContextManager;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * @author Grinfeld Mikhail
@@ -21,272 +29,404 @@ public class JsonParser {
 
     private static Log log = LogFactory.getLog(JsonParser.class);
 
-    private static final char
-        START_MAP = '{',
-        END_MAP = '}',
-        START_ARRAY = '[',
-        END_ARRAY = ']',
-        ESCAPE_CHAR = '\\',
-        STRING_CHAR = '"',
-        CHAR_CHAR = '\'',
-        ELEM_DELIM = ',',
-        VALUE_DELIM = ':',
-        SPACE_CHAR = ' ',
-        TAB_CHAR = '\t',
-        END_LINE = '\n',
-        END_LINE_CARET = '\r',
-        EMPTY_CHAR = '\0';
-
-    private LinkedList<Object> queue = null;
+    private static final String NULL_VALUE = "null";
+
+    // elements smaller than this (in bytes) are parsed in single task
+    private static final int PARALLEL_THRESHOLD = 32 * 1024;
+
     private List<String> groups;
+    private String classProperty;
 
     public static JsonParser get(String...groups) {
         return new JsonParser(groups);
     }
 
     private JsonParser(String...groups) {
-        this.queue = new LinkedList<>();
-        this.groups = groups == null? null : new ArrayList<>(Arrays.asList(groups));
+        this.groups = groups == null? null : groups.length == 0 ? Collections.<String>emptyList() : new ArrayList<>(Arrays.asList(groups));
+    }
+
+    /**
+     * Forgets configuration cached by previous parsing, so the same parser could be reused
+     * (possibly with another {@link ConfInfo})
+     * @return this parser
+     */
+    public JsonParser reset() {
+        classProperty = null;
+        return this;
     }
 
     public <T> T parse(BufferedReader bf, Class<T> clazz) throws IOException, IllegalArgumentException, InstantiationException, IllegalAccessException, ClassNotFoundException, NoSuchFieldException {
-        Pair<Character, Object> resp = parseRecursive(bf);
-        if (resp.getRight() != null) {
-            @SuppressWarnings("unchecked")
-            T value = (T) resp.getRight();
-            return value;
-            /*if (ConfInfo.isExcludeClass() && clazz != null) {
-                ret = ReflectionCache.guessClass(ret, clazz);
-            }
-            return ret;*/
-        }
-        return null;
+        return parse(new CharTokenizer(bf), clazz);
+    }
+
+    public <T> T parse(Reader reader, Class<T> clazz) throws IOException, IllegalArgumentException, InstantiationException, IllegalAccessException, ClassNotFoundException, NoSuchFieldException {
+        return parse(new CharTokenizer(reader), clazz);
+    }
+
+    public <T> T parse(String json, Class<T> clazz) throws IOException, IllegalArgumentException, InstantiationException, IllegalAccessException, ClassNotFoundException, NoSuchFieldException {
+        return parse(new CharTokenizer(json), clazz);
     }
 
     /**
-     * From this method starts our recursion
-     * @param bf parser
-     * @return returns Pair of last read character and parsed object
+     * Parses first JSON value from tokenizer
+     * @param tokenizer tokenizer to read JSON from
+     * @param clazz class to convert to
+     * @param <T> type of class to convert to
+     * @return parsed value or null if input is empty
      */
-    private Pair<Character, Object> parseRecursive(BufferedReader bf) throws IOException, InstantiationException {
-        StringBuilder sb = new StringBuilder();
-        char c = '\0';
-        int r = -1;
-        while ( (r = bf.read()) != -1 ) {
-            c = (char) r;
-            if (c != SPACE_CHAR && c != TAB_CHAR && c != END_LINE && c != END_LINE_CARET) {
-                Pair<Character, Object> p = parseStructure(bf, c);
-                Object o = p.getRight();
-                c = p.getLeft();
-                if (o != null) {
-                    return new ImmutablePair<>(c, o);
-                } else if (c != ELEM_DELIM) {
-                    sb.append(c);
-                }
-            }
+    public <T> T parse(JsonTokenizer tokenizer, Class<T> clazz) throws IOException, IllegalArgumentException, InstantiationException, IllegalAccessException, ClassNotFoundException, NoSuchFieldException {
+        int token = tokenizer.next();
+        if (token == JsonTokenizer.EOF)
+            return null;
+        return parseElement(tokenizer, token, clazz);
+    }
+
+    /**
+     * Parses UTF-8 JSON, which top level value is an array, in parallel. Stage 1 builds {@link StructuralIndex}
+     * in order to find boundaries of array elements, stage 2 parses ranges of elements as independent tasks on pool.
+     * If top level value is not an array, it's parsed sequentially and returned as single element
+     * @param data JSON
+     * @param off start of JSON in data
+     * @param len length of JSON
+     * @param clazz class of array elements
+     * @param pool pool to parse on
+     * @param <T> type of array elements
+     * @return elements of top level array in their order
+     */
+    public <T> List<T> parseParallel(byte[] data, int off, int len, Class<T> clazz, ForkJoinPool pool) throws IOException, IllegalArgumentException, InstantiationException, IllegalAccessException, ClassNotFoundException, NoSuchFieldException {
+        int[] bounds = StructuralIndex.build(data, off, len).arrayElements();
+        if (bounds == null) {
+            T value = parse(new Utf8Tokenizer(data, off, len), clazz);
+            return value == null ? Collections.<T>emptyList() : Collections.singletonList(value);
         }
-        return new ImmutablePair<>(c, null);
+        Object[] result = new Object[bounds.length / 2];
+        pool.invoke(new ParseTask(data, bounds, 0, result.length, clazz, result, ContextManager.get()));
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) Arrays.asList(result);
+        return list;
     }
 
-    private Pair<Character, Object> parseListInnerElement(BufferedReader bf, char c) throws IOException, InstantiationException {
-        do {
-            Pair<Character, Object> p = parseStructure(bf, c);
-            Object o = p.getRight();
-            c = p.getLeft();
-            if (o != null) {
-                return p;
-            } else if (c != ELEM_DELIM && c != SPACE_CHAR && c != TAB_CHAR && c != END_LINE && c != END_LINE_CARET) {
-                // avoid empty string at the beginning
-            }
-            int r = bf.read();
-            c = r != -1 ? (char) r : EMPTY_CHAR;
-        } while (bf.ready());
-        return new ImmutablePair<>(c, null);
+    /**
+     * Parses single value which starts from current token, e.g. element of top level array.
+     * When {@link ConfInfo#isBindToClass()} or {@link ConfInfo#isExcludeClass()} is set, objects are bound directly
+     * to clazz and to declared types of its fields (see {@link #bind(JsonTokenizer, Class)})
+     * @param tokenizer tokenizer to read from
+     * @param token current token
+     * @param clazz class to convert to
+     * @param <T> type of class to convert to
+     * @return parsed value
+     */
+    public <T> T parseElement(JsonTokenizer tokenizer, int token, Class<T> clazz) throws IOException, IllegalArgumentException, InstantiationException, IllegalAccessException, ClassNotFoundException, NoSuchFieldException {
+        Object value = ConfInfo.isBindToClass() || ConfInfo.isExcludeClass() ? parseValue(tokenizer, token, clazz) : parseValue(tokenizer, token);
+        @SuppressWarnings("unchecked")
+        T result = (T) value;
+        return result;
     }
 
     /**
-     * Method determinate if structure is complicated and tries to parse it into Array, Map, Object (if class parameter exists), String or Number
-     *
-     * @param bf parser
-     * @param c current character
-     * @return pair of last read character and parsed object
+     * Parses value which starts from current token. Maps with class property are converted into appropriate Object
+     * @param tokenizer tokenizer to read from
+     * @param token current token
+     * @return parsed Map, List, String, Number, Boolean or Object (if class property exists)
      */
-    private Pair<Character, Object> parseStructure(BufferedReader bf, char c) throws IOException, InstantiationException {
-        Map<String, Object> m = null;
-        List l = null;
-        StringBuilder sb = new StringBuilder();
-        String pn = null;
-        switch (c) {
-            case START_MAP:
-                m = new HashMap<>();
-                queue.offer(m);
-                c = parseMap(bf, m);
-                if (c == END_MAP) {
-                    m = (Map<String,Object>)queue.pollLast();
-                    if (m == null) {
-                        throw new NullPointerException("Ooops, something went wrong with queue");
-                    }
-                    String cl = ConfInfo.getClassProperty(); // Configuration.getStringProperty(ContextManager.get(Configuration.class), Configuration.CLASS_PROPERTY, Configuration.DEFAULT_CLASS_PROPERTY_VALUE);
-                    int r = bf.read();
-                    if (m.containsKey(cl)) {
-                        Object o = ReflectionCache.createClass(m, this.groups);
-                        return new ImmutablePair<>(r != -1 ? (char)r : c, o);
-                    }
-                    return new ImmutablePair<Character, Object>(r != -1 ? (char)r : c, m);
-                }
-                break;
-            case START_ARRAY:
-                l = new ArrayList<>();
-                queue.offer(l);
-                c = parseList(bf, l);
-                if (c == END_ARRAY) {
-                    l = (List)queue.pollLast();
-                    int r = bf.read();
-                    return new ImmutablePair<Character, Object>(r != -1 ? (char)r : c, l);
-                }
-                break;
-            case STRING_CHAR:
-            case CHAR_CHAR:
-                sb = new StringBuilder();
-                queue.offer(sb);
-                c = parseString(bf, sb);
-                pn = sb.toString();
-                queue.pollLast();
-                if (StringUtils.defaultString(pn).trim().equalsIgnoreCase("null"))
-                    return new ImmutablePair<Character, Object>(c, "");
-                return new ImmutablePair<Character, Object>(c, pn);
-            default:
-                sb = new StringBuilder();
-                sb.append(c);
-                queue.offer(sb);
-                c = parseNumber(bf, sb);
-                pn = sb.toString().trim();
-                Object o = pn;
-                if ("".equals(pn.trim()))
-                    return new ImmutablePair<Character, Object>(c, "");
-                if (pn.length() > 1 && (pn.startsWith("-") || pn.startsWith("+")))
-                    pn = pn.substring(1);
-                if (pn.replaceAll("[0-9]", "").equals(""))
-                    o = ReflectionCache.getPrimitive(Long.class, sb.toString().trim());
-                // !pn.startsWith(".") && !pn.endsWith(".") -> it's possible to write double and float numbers without leading zero
-                if (pn.replaceAll("[0-9]", "").equals("."))
-                    o = ReflectionCache.getPrimitive(Double.class, sb.toString().trim());
-                if (pn.trim().toLowerCase().equals("false") || pn.trim().toLowerCase().equals("true"))
-                    o = ReflectionCache.getPrimitive(Boolean.class, sb.toString().trim());
-                queue.pollLast();
-                if (StringUtils.defaultString(pn).trim().equalsIgnoreCase("null")) {
-                    return new ImmutablePair<Character, Object>(c, "");
-                }
-                return new ImmutablePair<>(c, o);
+    public Object parseValue(JsonTokenizer tokenizer, int token) throws IOException, InstantiationException {
+        switch (token) {
+            case JsonTokenizer.MAP_START:
+                return parseMap(tokenizer);
+            case JsonTokenizer.LIST_START:
+                return parseList(tokenizer);
+            case JsonTokenizer.STRING:
+                String str = tokenizer.getText();
+                if (str.trim().equalsIgnoreCase(NULL_VALUE))
+                    return "";
+                return str;
+            case JsonTokenizer.LONG:
+            case JsonTokenizer.DOUBLE:
+            case JsonTokenizer.BIG_INTEGER:
+            case JsonTokenizer.BIG_DECIMAL:
+                return tokenizer.getNumber();
+            case JsonTokenizer.TRUE:
+                return Boolean.TRUE;
+            case JsonTokenizer.FALSE:
+                return Boolean.FALSE;
+            case JsonTokenizer.NULL:
+                return "";
+            case JsonTokenizer.SCALAR:
+                return tokenizer.getText();
         }
+        throw new IllegalArgumentException("Unexpected token " + token + " at position " + tokenizer.getOffset());
+    }
 
-        return new ImmutablePair<>(c, null);
+    /**
+     * Parses value which starts from current token according to expected type. Objects of bindable classes are
+     * bound directly, Lists, arrays and Maps pass type of their elements further. Everything else is parsed as by
+     * {@link #parseValue(JsonTokenizer, int)} and converted by setter
+     */
+    private Object parseValue(JsonTokenizer tokenizer, int token, Type type) throws IOException, InstantiationException, IllegalAccessException, ClassNotFoundException {
+        Class<?> clazz = rawClass(type);
+        if (clazz == null)
+            return parseValue(tokenizer, token);
+        if (token == JsonTokenizer.MAP_START) {
+            if (isBindable(clazz))
+                return bind(tokenizer, clazz);
+            if (Map.class.isAssignableFrom(clazz))
+                return parseMap(tokenizer, new HashMap<String, Object>(), typeArgument(type, 1));
+        } else if (token == JsonTokenizer.LIST_START) {
+            if (clazz.isArray() && isPrimitiveNumber(clazz.getComponentType()))
+                return parsePrimitiveArray(tokenizer, clazz.getComponentType());
+            if (clazz.isArray())
+                return parseList(tokenizer, clazz.getComponentType());
+            if (Collection.class.isAssignableFrom(clazz))
+                return parseList(tokenizer, typeArgument(type, 0));
+        }
+        return parseValue(tokenizer, token);
     }
 
-    private char parseMap(BufferedReader bf, Map<String, Object> m) throws IOException, InstantiationException {
-        char c = SPACE_CHAR;
-        int r = -1;
-        while ( (r = bf.read()) != -1) {
-            c = (char) r;
-            if (c == END_MAP) {
-                return c;
-            } else if (c == END_LINE || c == END_LINE_CARET || c == TAB_CHAR || c == SPACE_CHAR) {
-                // do nothing
-            } else {
-                StringBuilder sb = new StringBuilder();
-                // searching key
-                do {
-                    if (c == -1)
-                        throw new IllegalArgumentException("Reached end of stream - un-parsed data");
-                    if (c != ELEM_DELIM && c != END_LINE && c != END_LINE_CARET && c != TAB_CHAR && c != SPACE_CHAR)
-                        sb.append(c);
-                } while ((r = bf.read()) != -1 && (c = (char)r) != VALUE_DELIM);
-                String key = sb.toString();
-                if (sb.length() == 1 && sb.charAt(0) == END_MAP) {
-                    return END_MAP;
-                }
-                if (key.startsWith(String.valueOf(CHAR_CHAR)) || key.startsWith(String.valueOf(STRING_CHAR)))
-                    key = key.substring(1);
-
-                if (key.endsWith(String.valueOf(CHAR_CHAR)) || key.endsWith(String.valueOf(STRING_CHAR)))
-                    key = key.substring(0, key.length() - 1);
-                else
-                    key = key.trim();
-                key = StringEscapeUtils.unescapeJson(key);
-                Pair<Character, Object> p = parseRecursive(bf);
-                Object o = p.getRight();
-                c = p.getLeft();
-                m.put(key, o);
-
-                if (c == END_MAP) {
-                    return c;
+    /**
+     * Creates instance of clazz and sets its fields while keys are read, without intermediate Map.
+     * Class property is honored only if it's the first key (and class is subclass of clazz), since the instance
+     * is already created on next keys. Unknown keys and keys of properties out of requested groups are skipped
+     * without parsing their values
+     */
+    private Object bind(JsonTokenizer tokenizer, Class<?> clazz) throws IOException, InstantiationException, IllegalAccessException, ClassNotFoundException {
+        int token = tokenizer.next();
+        if (token == JsonTokenizer.KEY && getClassProperty().equals(tokenizer.getText())) {
+            Object className = parseValue(tokenizer, tokenizer.next());
+            Class<?> actual = className instanceof String ? findClass((String) className) : null;
+            if (actual != null) {
+                if (!isBindable(actual)) {
+                    // e.g. enum or primitive written as class, let ReflectionCache create it from Map
+                    Map<String, Object> m = new HashMap<>();
+                    m.put(classProperty, className);
+                    return parseMap(tokenizer, m, null);
                 }
+                if (clazz.isAssignableFrom(actual))
+                    clazz = actual;
             }
+            token = tokenizer.next();
         }
+        ReadInstanceFactory<?, ?> factory = ConfInfo.getFactory(clazz);
+        Object o = factory.newInstance(Collections.<String, Object>emptyMap());
+        // only properties of requested groups, values of others are skipped without parsing
+        Map<String, Invoker> setters = ReflectionCache.get().getSetters(clazz, groups);
+        for (; token == JsonTokenizer.KEY; token = tokenizer.next()) {
+            Invoker i = setters.get(tokenizer.getText());
+            if (i == null) {
+                tokenizer.skipValue();
+                continue;
+            }
+            Object value = parseValue(tokenizer, tokenizer.next(), i.getSetterType());
+            try {
+                i.set(o, value);
+            } catch (InvocationTargetException e) {
+                throw new IllegalArgumentException("Failed to set " + i.getSetterName() + " of " + clazz.getName(), e);
+            }
+        }
+        return o;
+    }
 
-        return c;
+    private Object parseMap(JsonTokenizer tokenizer) throws IOException, InstantiationException {
+        Map<String, Object> m = new HashMap<>();
+        while (tokenizer.next() == JsonTokenizer.KEY) {
+            String key = tokenizer.getText();
+            m.put(key, parseValue(tokenizer, tokenizer.next()));
+        }
+        if (m.containsKey(getClassProperty()))
+            return ReflectionCache.createClass(m, this.groups);
+        return m;
+    }
+
+    private Object parseMap(JsonTokenizer tokenizer, Map<String, Object> m, Type valueType) throws IOException, InstantiationException, IllegalAccessException, ClassNotFoundException {
+        while (tokenizer.next() == JsonTokenizer.KEY) {
+            String key = tokenizer.getText();
+            m.put(key, parseValue(tokenizer, tokenizer.next(), valueType));
+        }
+        if (m.containsKey(getClassProperty()))
+            return ReflectionCache.createClass(m, this.groups);
+        return m;
+    }
+
+    private List<Object> parseList(JsonTokenizer tokenizer) throws IOException, InstantiationException {
+        List<Object> l = new ArrayList<>();
+        int token;
+        while ((token = tokenizer.next()) != JsonTokenizer.LIST_END) {
+            l.add(parseValue(tokenizer, token));
+        }
+        return l;
+    }
+
+    private List<Object> parseList(JsonTokenizer tokenizer, Type elementType) throws IOException, InstantiationException, IllegalAccessException, ClassNotFoundException {
+        List<Object> l = new ArrayList<>();
+        int token;
+        while ((token = tokenizer.next()) != JsonTokenizer.LIST_END) {
+            l.add(parseValue(tokenizer, token, elementType));
+        }
+        return l;
     }
 
-    private char parseList(BufferedReader bf, List l) throws IOException, InstantiationException {
-        char c = SPACE_CHAR;
-        int r = -1;
-        while ((r = bf.read()) != -1) {
-            c = (char) r;
-            if (c == END_ARRAY) {
-                return c;
-            } else if (c == ELEM_DELIM || c == VALUE_DELIM || c == SPACE_CHAR || c == END_LINE || c == END_LINE_CARET || c == TAB_CHAR) {
-                // do nothing
+    // numbers are parsed straight into growable primitive buffer, so elements are never boxed
+    private static Object parsePrimitiveArray(JsonTokenizer tokenizer, Class<?> component) throws IOException {
+        boolean floating = component == double.class || component == float.class;
+        long[] longs = floating ? null : new long[16];
+        double[] doubles = floating ? new double[16] : null;
+        int size = 0;
+        int token;
+        while ((token = tokenizer.next()) != JsonTokenizer.LIST_END) {
+            if (floating) {
+                if (size == doubles.length)
+                    doubles = Arrays.copyOf(doubles, size * 2);
+                doubles[size++] = JsonTokenizer.isNumber(token) ? tokenizer.getDouble() : Double.parseDouble(numberText(tokenizer, token, component));
             } else {
-                Pair<Character, Object> p = parseListInnerElement(bf, c);
-                Object o = p.getRight();
-                c = p.getLeft();
-                l.add(o);
-                if (c == END_ARRAY) {
-                    return c;
-                }
+                if (size == longs.length)
+                    longs = Arrays.copyOf(longs, size * 2);
+                longs[size++] = integral(tokenizer, token, component);
             }
         }
+        if (component == long.class)
+            return Arrays.copyOf(longs, size);
+        if (component == double.class)
+            return Arrays.copyOf(doubles, size);
+        Object array = Array.newInstance(component, size);
+        for (int i = 0; i < size; i++) {
+            if (component == int.class)
+                ((int[]) array)[i] = (int) inRange(longs[i], Integer.MIN_VALUE, Integer.MAX_VALUE, component);
+            else if (component == short.class)
+                ((short[]) array)[i] = (short) inRange(longs[i], Short.MIN_VALUE, Short.MAX_VALUE, component);
+            else if (component == byte.class)
+                ((byte[]) array)[i] = (byte) inRange(longs[i], Byte.MIN_VALUE, Byte.MAX_VALUE, component);
+            else
+                ((float[]) array)[i] = (float) doubles[i];
+        }
+        return array;
+    }
 
+    // decimal number is accepted only without fraction and in range of long, instead of being truncated
+    private static long integral(JsonTokenizer tokenizer, int token, Class<?> component) {
+        if (token == JsonTokenizer.LONG)
+            return tokenizer.getLong();
+        String text = JsonTokenizer.isNumber(token) ? tokenizer.getText() : numberText(tokenizer, token, component);
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return new BigDecimal(text).longValueExact();
+            } catch (ArithmeticException | NumberFormatException ae) {
+                throw new IllegalArgumentException("Value " + text + " can't be converted to " + component.getName());
+            }
+        }
+    }
 
-        return c;
+    private static long inRange(long value, long min, long max, Class<?> component) {
+        if (value < min || value > max)
+            throw new IllegalArgumentException("Value " + value + " is out of range of " + component.getName());
+        return value;
     }
 
-    private static char parseNumber(BufferedReader bf, StringBuilder sb) throws IOException, IllegalArgumentException {
-        char c = SPACE_CHAR;
-        int r = -1;
-        while ((r = bf.read()) != -1) {
-            c = (char) r;
-            switch (c) {
-                case END_ARRAY:
-                case END_MAP:
-                case ELEM_DELIM:
-                    return c;
-            }
-            if (c != END_LINE && c != END_LINE_CARET && c != TAB_CHAR)
-                sb.append(c);
+    // quoted numbers are accepted as well, null (parsed as empty string) is 0
+    private static String numberText(JsonTokenizer tokenizer, int token, Class<?> component) {
+        if (token == JsonTokenizer.NULL)
+            return "0";
+        if (token != JsonTokenizer.STRING && token != JsonTokenizer.SCALAR)
+            throw new IllegalArgumentException("Incompatible types for " + component.getName());
+        String text = tokenizer.getText().trim();
+        return text.isEmpty() || NULL_VALUE.equalsIgnoreCase(text) ? "0" : text;
+    }
+
+    private static boolean isPrimitiveNumber(Class<?> clazz) {
+        return clazz.isPrimitive() && clazz != boolean.class && clazz != char.class;
+    }
+
+    private String getClassProperty() {
+        if (classProperty == null)
+            classProperty = ConfInfo.getClassProperty();
+        return classProperty;
+    }
+
+    // unknown class is ignored, same as ReflectionCache.createClass does
+    private static Class<?> findClass(String className) {
+        if ("".equals(className))
+            return null;
+        try {
+            return ReflectionCache.get().getClass(className);
+        } catch (ClassNotFoundException e) {
+            return null;
         }
-        return c;
     }
 
-    private static char parseString (BufferedReader bf, StringBuilder all) throws IOException, IllegalArgumentException {
-        char c = SPACE_CHAR;
-        char prevC = SPACE_CHAR;
-        int r = -1;
-        StringBuilder sb = new StringBuilder();
-        while ( (r = bf.read()) != -1 && (c = (char) r) != -1 && !(prevC != ESCAPE_CHAR && c == STRING_CHAR)) {
-            if (prevC == ESCAPE_CHAR && (c == CHAR_CHAR || c == STRING_CHAR)) {
-                // do nothing
-            } else if (prevC == ESCAPE_CHAR && c == ESCAPE_CHAR) {
-                sb.append(ESCAPE_CHAR);
-            } else if (prevC == ESCAPE_CHAR && c == 'u') {
-                sb.append(ESCAPE_CHAR);
+    // classes with setters, which could be created by default factory
+    private static boolean isBindable(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isEnum() || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()))
+            return false;
+        if (Map.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz) || ConfInfo.hasFactory(clazz))
+            return false;
+        return !ReflectionCache.get().getSetters(clazz).isEmpty();
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class)
+            return Object.class.equals(type) ? null : (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return rawClass(((ParameterizedType) type).getRawType());
+        return null;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (!(type instanceof ParameterizedType))
+            return null;
+        Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+        return index < args.length ? args[index] : null;
+    }
+
+    /*
+     * Parses elements [from, to) of top level array, splitting them in halves while range is large
+     */
+    private class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+        private final Class<?> clazz;
+        private final Object[] result;
+        private final ConfInfo conf;
+
+        private ParseTask(byte[] data, int[] bounds, int from, int to, Class<?> clazz, Object[] result, ConfInfo conf) {
+            this.data = data;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.clazz = clazz;
+            this.result = result;
+            this.conf = conf;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && bounds[2 * to - 1] - bounds[2 * from] > PARALLEL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(data, bounds, from, middle, clazz, result, conf),
+                    new ParseTask(data, bounds, middle, to, clazz, result, conf));
+                return;
             }
-            if (c != ESCAPE_CHAR) {
-                sb.append(c);
+            ConfInfo previous = ContextManager.set(conf);
+            try {
+                // single tokenizer per task, so its buffers and key table are shared by elements
+                Utf8Tokenizer tokenizer = null;
+                for (int i = from; i < to; i++) {
+                    int start = bounds[2 * i];
+                    int len = bounds[2 * i + 1] - start;
+                    tokenizer = tokenizer == null ? new Utf8Tokenizer(data, start, len) : tokenizer.reset(data, start, len);
+                    result[i] = parseElement(tokenizer, tokenizer.next(), clazz);
+                    // range of element holds single value, as between commas in sequential parsing
+                    if (tokenizer.next() != JsonTokenizer.EOF)
+                        throw new IllegalArgumentException("Unexpected data after array element " + i);
+                }
+            } catch (IOException | InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchFieldException e) {
+                throw new IllegalArgumentException("Failed to convert Json to Object", e);
+            } finally {
+                ContextManager.set(previous);
             }
-            prevC = c;
         }
-        all.append(StringEscapeUtils.unescapeJson(sb.toString()));
-        return c;
     }
 }
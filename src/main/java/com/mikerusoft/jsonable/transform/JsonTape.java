@@ -0,0 +1,491 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Compact read only tree of UTF-8 JSON. Instead of Maps, Lists, Strings and boxed numbers for every value,
+ * parsing produces flat "tape" of two longs per value over the original bytes: type and position of string
+ * (or number itself), containers are followed by their content and point to their next sibling, so skipping
+ * them is O(1). {@link #root()} returns light {@link Map} and {@link List} views over the tape, which decode
+ * values when they are accessed, and primitive accessors which don't box numbers at all.
+ * Structure is read by the same tokenizer as {@link JsonParser} uses, so the same (lenient) JSON is accepted,
+ * but maps with class property are not converted into objects - tape is always raw tree.
+ * Strings are always decoded on access. In lazy mode numbers and literals aren't decoded by build either, only
+ * their positions are recorded, and views keep values decoded on first access, so following accesses return
+ * the same objects.
+ * Views are not thread safe.
+ * @since 10/18/2026.
+ */
+public final class JsonTape {
+
+    // string flags, stored in low bits of the second word of string entry
+    private static final int ESCAPED = 1, ASCII = 2, FLAG_BITS = 2;
+    // type of number or literal, which isn't decoded yet (lazy mode)
+    private static final int DEFERRED = 15;
+
+    private final byte[] data;
+    private final long[] tape;
+    private final int size;
+    private final boolean lazy;
+    // decodes deferred values on access
+    private TapeTokenizer scalars;
+
+    private JsonTape(byte[] data, long[] tape, int size, boolean lazy) {
+        this.data = data;
+        this.tape = tape;
+        this.size = size;
+        this.lazy = lazy;
+    }
+
+    /**
+     * Builds tape of first JSON value in data. Data is referenced by tape, so it shouldn't be changed
+     * @param data UTF-8 JSON
+     * @param off start of JSON in data
+     * @param len length of JSON
+     * @return tape or null if there is no value in data
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public static JsonTape build(byte[] data, int off, int len) throws IllegalArgumentException {
+        return build(data, off, len, false);
+    }
+
+    /**
+     * Builds tape of first JSON value in data. Data is referenced by tape, so it shouldn't be changed
+     * @param data UTF-8 JSON
+     * @param off start of JSON in data
+     * @param len length of JSON
+     * @param lazy true if views should keep values decoded on first access
+     * @return tape or null if there is no value in data
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public static JsonTape build(byte[] data, int off, int len, boolean lazy) throws IllegalArgumentException {
+        TapeTokenizer tokenizer = new TapeTokenizer(data, off, len, lazy);
+        // two longs per value, values are rarely shorter than 8 bytes
+        long[] tape = new long[Math.max(16, len / 4) & ~1];
+        int size = 0;
+        // open containers: their entries and number of their elements
+        int[] entries = new int[16];
+        int[] counts = new int[16];
+        int depth = 0;
+        try {
+            int token = tokenizer.next();
+            if (token == JsonTokenizer.EOF)
+                return null;
+            do {
+                if (token == JsonTokenizer.MAP_END || token == JsonTokenizer.LIST_END) {
+                    depth--;
+                    int e = entries[depth];
+                    tape[2 * e] = (long) type(tape, e) << 56 | size;
+                    tape[2 * e + 1] = counts[depth];
+                } else {
+                    if (2 * size + 2 > tape.length)
+                        tape = Arrays.copyOf(tape, tape.length * 2);
+                    if (token != JsonTokenizer.KEY && depth > 0)
+                        counts[depth - 1]++;
+                    long a = 0, b = 0;
+                    switch (token) {
+                        case JsonTokenizer.MAP_START:
+                        case JsonTokenizer.LIST_START:
+                            if (depth == entries.length) {
+                                entries = Arrays.copyOf(entries, depth * 2);
+                                counts = Arrays.copyOf(counts, depth * 2);
+                            }
+                            entries[depth] = size;
+                            counts[depth++] = 0;
+                            break;
+                        case JsonTokenizer.LONG:
+                            b = tokenizer.getLong();
+                            break;
+                        case JsonTokenizer.DOUBLE:
+                            b = Double.doubleToRawLongBits(tokenizer.getDouble());
+                            break;
+                        case JsonTokenizer.TRUE:
+                        case JsonTokenizer.FALSE:
+                        case JsonTokenizer.NULL:
+                            break;
+                        default:
+                            // strings, keys, not numeric scalars, big numbers and deferred values are kept as positions in data
+                            a = tokenizer.start;
+                            b = (long) tokenizer.length << FLAG_BITS | tokenizer.flags;
+                    }
+                    tape[2 * size] = (long) token << 56 | a;
+                    tape[2 * size + 1] = b;
+                    size++;
+                }
+            } while (depth > 0 && (token = tokenizer.next()) != JsonTokenizer.EOF);
+        } catch (IOException e) {
+            // can't happen, data is in memory
+            throw new IllegalArgumentException("Failed to read Json", e);
+        }
+        // tape lives as long as views over it, so space reserved by estimate isn't kept
+        if (tape.length > 2 * size)
+            tape = Arrays.copyOf(tape, 2 * size);
+        return new JsonTape(data, tape, size, lazy);
+    }
+
+    /**
+     * @return root value: {@link Map} or {@link List} view, String, number (Long, Double, BigInteger or BigDecimal)
+     * or Boolean. null is "" (as {@link JsonParser} returns)
+     */
+    public Object root() { return value(0); }
+
+    /**
+     * @return number of values (including keys) in tape
+     */
+    public int size() { return size; }
+
+    private static int type(long[] tape, int e) {
+        return (int) (tape[2 * e] >>> 56);
+    }
+
+    int type(int e) { return type(tape, e); }
+
+    // entry after value e and all its content
+    int next(int e) {
+        int t = type(e);
+        return t == JsonTokenizer.MAP_START || t == JsonTokenizer.LIST_START ? (int) (tape[2 * e] & 0xFFFFFFFFL) : e + 1;
+    }
+
+    // number of elements of container e
+    int count(int e) { return (int) tape[2 * e + 1]; }
+
+    Object value(int e) {
+        switch (resolve(e)) {
+            case JsonTokenizer.MAP_START: return new MapView(e);
+            case JsonTokenizer.LIST_START: return new ListView(e);
+            case JsonTokenizer.LONG: return tape[2 * e + 1];
+            case JsonTokenizer.DOUBLE: return Double.longBitsToDouble(tape[2 * e + 1]);
+            case JsonTokenizer.BIG_INTEGER: return new BigInteger(string(e));
+            case JsonTokenizer.BIG_DECIMAL: return new BigDecimal(string(e));
+            case JsonTokenizer.TRUE: return Boolean.TRUE;
+            case JsonTokenizer.FALSE: return Boolean.FALSE;
+            case JsonTokenizer.NULL: return "";
+            case JsonTokenizer.STRING:
+                String s = string(e);
+                return s.trim().equalsIgnoreCase("null") ? "" : s;
+            default: return string(e);
+        }
+    }
+
+    // type of value e, deferred value is decoded and its entry is replaced by decoded one
+    private int resolve(int e) {
+        int t = type(e);
+        if (t != DEFERRED)
+            return t;
+        int start = (int) (tape[2 * e] & 0xFFFFFFFFL);
+        int length = (int) (tape[2 * e + 1] >>> FLAG_BITS);
+        if (scalars == null)
+            scalars = new TapeTokenizer(data, start, length, false);
+        else
+            scalars.reset(data, start, length);
+        try {
+            t = scalars.next();
+        } catch (IOException ex) {
+            // can't happen, data is in memory
+            throw new IllegalArgumentException("Failed to read Json", ex);
+        }
+        if (t == JsonTokenizer.LONG)
+            tape[2 * e + 1] = scalars.getLong();
+        else if (t == JsonTokenizer.DOUBLE)
+            tape[2 * e + 1] = Double.doubleToRawLongBits(scalars.getDouble());
+        tape[2 * e] = (long) t << 56 | start;
+        return t;
+    }
+
+    String string(int e) {
+        int start = (int) (tape[2 * e] & 0xFFFFFFFFL);
+        long b = tape[2 * e + 1];
+        String s = new String(data, start, (int) (b >>> FLAG_BITS), (b & ASCII) != 0 ? Utf8Tokenizer.ISO_8859_1 : Utf8Tokenizer.UTF_8);
+        return (b & ESCAPED) != 0 ? JsonTokenizer.unescape(s) : s;
+    }
+
+    // compares key without decoding it, if possible
+    boolean keyEquals(int e, String key) {
+        long b = tape[2 * e + 1];
+        if ((b & (ESCAPED | ASCII)) != ASCII)
+            return string(e).equals(key);
+        int len = (int) (b >>> FLAG_BITS);
+        if (len != key.length())
+            return false;
+        int start = (int) (tape[2 * e] & 0xFFFFFFFFL);
+        for (int i = 0; i < len; i++) {
+            if (data[start + i] != key.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    long longValue(int e) throws IllegalArgumentException {
+        switch (resolve(e)) {
+            case JsonTokenizer.LONG: return tape[2 * e + 1];
+            case JsonTokenizer.DOUBLE: return (long) Double.longBitsToDouble(tape[2 * e + 1]);
+            case JsonTokenizer.BIG_INTEGER:
+            case JsonTokenizer.BIG_DECIMAL:
+                return ((Number) value(e)).longValue();
+            case JsonTokenizer.STRING:
+            case JsonTokenizer.SCALAR:
+                return Long.parseLong(string(e).trim());
+        }
+        throw new IllegalArgumentException("Value is not a number");
+    }
+
+    double doubleValue(int e) throws IllegalArgumentException {
+        switch (resolve(e)) {
+            case JsonTokenizer.LONG: return tape[2 * e + 1];
+            case JsonTokenizer.DOUBLE: return Double.longBitsToDouble(tape[2 * e + 1]);
+            case JsonTokenizer.BIG_INTEGER:
+            case JsonTokenizer.BIG_DECIMAL:
+                return ((Number) value(e)).doubleValue();
+            case JsonTokenizer.STRING:
+            case JsonTokenizer.SCALAR:
+                return Double.parseDouble(string(e).trim());
+        }
+        throw new IllegalArgumentException("Value is not a number");
+    }
+
+    /**
+     * Read only view of JSON object on tape. Lookup by key scans keys of the object without decoding them
+     */
+    public class MapView extends AbstractMap<String, Object> {
+
+        private final int entry;
+        // values decoded in lazy mode, by index of element
+        private Object[] values;
+        // value entry of the last found key
+        private int found;
+
+        MapView(int entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public int size() { return count(entry); }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && find((String) key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int i = key instanceof String ? find((String) key) : -1;
+            return i < 0 ? null : valueAt(i, found);
+        }
+
+        /**
+         * @param key key of number
+         * @return number without boxing
+         * @throws IllegalArgumentException if key is absent or its value is not a number
+         */
+        public long getLong(String key) throws IllegalArgumentException {
+            return longValue(require(key));
+        }
+
+        /**
+         * @param key key of number
+         * @return number without boxing
+         * @throws IllegalArgumentException if key is absent or its value is not a number
+         */
+        public double getDouble(String key) throws IllegalArgumentException {
+            return doubleValue(require(key));
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public int size() { return count(entry); }
+
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int e = entry + 1;
+                        private int i = 0;
+                        private final int end = JsonTape.this.next(entry);
+
+                        @Override
+                        public boolean hasNext() { return e < end; }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (e >= end)
+                                throw new NoSuchElementException();
+                            Entry<String, Object> result = new SimpleImmutableEntry<>(string(e), valueAt(i++, e + 1));
+                            e = JsonTape.this.next(e + 1);
+                            return result;
+                        }
+
+                        @Override
+                        public void remove() { throw new UnsupportedOperationException(); }
+                    };
+                }
+            };
+        }
+
+        // index of element with key (the last one if key repeats, as in HashMap) or -1, its value entry is in found
+        int find(String key) {
+            int index = -1;
+            int i = 0;
+            for (int e = entry + 1, end = next(entry); e < end; e = next(e + 1), i++) {
+                if (keyEquals(e, key)) {
+                    index = i;
+                    found = e + 1;
+                }
+            }
+            return index;
+        }
+
+        private Object valueAt(int i, int e) {
+            if (!lazy)
+                return value(e);
+            if (values == null)
+                values = new Object[count(entry)];
+            Object v = values[i];
+            if (v == null)
+                values[i] = v = value(e);
+            return v;
+        }
+
+        private int require(String key) {
+            if (find(key) < 0)
+                throw new IllegalArgumentException("No value for key " + key);
+            return found;
+        }
+    }
+
+    /**
+     * Read only view of JSON array on tape. Elements are found by walking from the previously accessed element,
+     * so iteration and sequential access are linear
+     */
+    public class ListView extends AbstractList<Object> {
+
+        private final int entry;
+        private int lastIndex = 0;
+        private int lastEntry;
+        // values decoded in lazy mode
+        private Object[] values;
+
+        ListView(int entry) {
+            this.entry = entry;
+            this.lastEntry = entry + 1;
+        }
+
+        @Override
+        public int size() { return count(entry); }
+
+        @Override
+        public Object get(int index) {
+            if (!lazy)
+                return value(find(index));
+            if (values == null)
+                values = new Object[size()];
+            Object v = index >= 0 && index < values.length ? values[index] : null;
+            if (v == null)
+                values[index] = v = value(find(index));
+            return v;
+        }
+
+        /**
+         * @param index index of number
+         * @return number without boxing
+         * @throws IllegalArgumentException if element is not a number
+         */
+        public long getLong(int index) throws IllegalArgumentException {
+            return longValue(find(index));
+        }
+
+        /**
+         * @param index index of number
+         * @return number without boxing
+         * @throws IllegalArgumentException if element is not a number
+         */
+        public double getDouble(int index) throws IllegalArgumentException {
+            return doubleValue(find(index));
+        }
+
+        int find(int index) {
+            if (index < 0 || index >= size())
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            if (index < lastIndex) {
+                lastIndex = 0;
+                lastEntry = entry + 1;
+            }
+            for (; lastIndex < index; lastIndex++)
+                lastEntry = next(lastEntry);
+            return lastEntry;
+        }
+    }
+
+    /**
+     * Tokenizer, which records positions of strings and scalars instead of creating them.
+     * Deferring one doesn't decode numbers and literals at all and returns them as {@link #DEFERRED}
+     */
+    private static final class TapeTokenizer extends Utf8Tokenizer {
+
+        private final boolean defer;
+        private int start;
+        private int length;
+        private int flags;
+
+        private TapeTokenizer(byte[] data, int off, int len, boolean defer) {
+            super(data, off, len);
+            this.defer = defer;
+        }
+
+        @Override
+        protected String readString(int quote) throws IOException {
+            start = pos;
+            flags = ASCII;
+            boolean escaped = false;
+            while (pos < limit) {
+                byte b = buf[pos++];
+                if (b < 0) {
+                    flags &= ~ASCII;
+                    escaped = false;
+                } else if (escaped) {
+                    escaped = false;
+                } else if (b == ESCAPE_CHAR) {
+                    escaped = true;
+                    flags |= ESCAPED;
+                } else if (b == quote) {
+                    length = pos - start - 1;
+                    return null;
+                }
+            }
+            throw endOfInput();
+        }
+
+        @Override
+        protected String readKeyString(int quote) throws IOException {
+            return readString(quote);
+        }
+
+        @Override
+        protected String readWord() throws IOException {
+            start = pos;
+            while (pos < limit && !isWordEnd(buf[pos]))
+                pos++;
+            length = pos - start;
+            flags = 0;
+            return null;
+        }
+
+        @Override
+        protected int readScalar() throws IOException {
+            int begin = pos;
+            if (defer || !NumberScanner.isStart(buf[pos])) {
+                // position of word only, no text is created for it
+                readWord();
+                return defer ? DEFERRED : literal(buf, begin, length);
+            }
+            int token = super.readScalar();
+            start = begin;
+            length = pos - begin;
+            flags = 0;
+            return token;
+        }
+    }
+}
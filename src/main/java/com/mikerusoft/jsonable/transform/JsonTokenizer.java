@@ -0,0 +1,530 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Splits JSON text into tokens. This class keeps track of the structure (maps, lists and delimiters between them),
+ * while subclasses own the input buffer and do the character level scanning, so the virtual call
+ * happens once per token and not once per character.
+ * @since 10/18/2026.
+ */
+public abstract class JsonTokenizer implements Closeable {
+
+    public static final int
+        NONE = -1,
+        EOF = 0,
+        MAP_START = 1,
+        MAP_END = 2,
+        LIST_START = 3,
+        LIST_END = 4,
+        KEY = 5,
+        STRING = 6,
+        SCALAR = 7,
+        TRUE = 8,
+        FALSE = 9,
+        NULL = 10,
+        LONG = 11,
+        DOUBLE = 12,
+        BIG_INTEGER = 13,
+        BIG_DECIMAL = 14;
+
+    protected static final char
+        START_MAP = '{',
+        END_MAP = '}',
+        START_ARRAY = '[',
+        END_ARRAY = ']',
+        ESCAPE_CHAR = '\\',
+        STRING_CHAR = '"',
+        CHAR_CHAR = '\'',
+        ELEM_DELIM = ',',
+        VALUE_DELIM = ':',
+        SPACE_CHAR = ' ',
+        TAB_CHAR = '\t',
+        END_LINE = '\n',
+        END_LINE_CARET = '\r';
+
+    private int[] stack = new int[16];
+    private int depth = 0;
+    private int token = NONE;
+    private boolean skipping = false;
+    protected String text;
+    protected final NumberScanner number = new NumberScanner();
+    private KeyTable keys;
+
+    /**
+     * Returns next not white space character without consuming it
+     * @return next character or -1 on end of input
+     * @throws IOException on failure reading input
+     */
+    protected abstract int peek() throws IOException;
+
+    /**
+     * Consumes character returned by last {@link #peek()}
+     */
+    protected abstract void consume();
+
+    /**
+     * Reads string until closing quote. Opening quote is already consumed
+     * @param quote quote character the string started with
+     * @return unescaped string
+     * @throws IOException on failure reading input
+     */
+    protected abstract String readString(int quote) throws IOException;
+
+    /**
+     * Reads quoted map key. Opening quote is already consumed. Keys repeat a lot (e.g. in arrays of similar objects),
+     * so subclasses return canonical String from {@link #keys()} for keys without escapes
+     * @param quote quote character the key started with
+     * @return unescaped key
+     * @throws IOException on failure reading input
+     */
+    protected String readKeyString(int quote) throws IOException {
+        return readString(quote);
+    }
+
+    /**
+     * Reads not quoted map key or not quoted value, which is not number or literal
+     * @return text of the word
+     * @throws IOException on failure reading input
+     */
+    protected abstract String readWord() throws IOException;
+
+    /**
+     * Reads not quoted value. Numbers are accumulated by {@link #number} while scanned,
+     * literals are compared in place, so no String is created for them
+     * @return {@link #LONG}, {@link #DOUBLE}, {@link #BIG_INTEGER}, {@link #BIG_DECIMAL}, {@link #TRUE}, {@link #FALSE},
+     * {@link #NULL} or {@link #SCALAR} (with {@link #text} set) for any other word
+     * @throws IOException on failure reading input
+     */
+    protected abstract int readScalar() throws IOException;
+
+    /**
+     * Skips string until closing quote without creating it. Opening quote is already consumed
+     * @param quote quote character the string started with
+     * @throws IOException on failure reading input
+     */
+    protected abstract void skipString(int quote) throws IOException;
+
+    /**
+     * Skips not quoted value or map key without creating it
+     * @throws IOException on failure reading input
+     */
+    protected abstract void skipWord() throws IOException;
+
+    /**
+     * @return number of characters consumed from the beginning of input
+     */
+    public abstract long getOffset();
+
+    /**
+     * Reads next token
+     * @return one of {@link #EOF}, {@link #MAP_START}, {@link #MAP_END}, {@link #LIST_START}, {@link #LIST_END},
+     * {@link #KEY}, {@link #STRING}, {@link #SCALAR}, {@link #TRUE}, {@link #FALSE}, {@link #NULL} or one of number tokens
+     * @throws IOException on failure reading input
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public int next() throws IOException, IllegalArgumentException {
+        int c = peek();
+        switch (token) {
+            case KEY:
+                return token = readValue(c);
+            case MAP_START:
+                if (c == END_MAP)
+                    return token = close(MAP_START);
+                return token = readKey(c);
+            case LIST_START:
+                if (c == END_ARRAY)
+                    return token = close(LIST_START);
+                return token = readValue(c);
+            case NONE:
+            case EOF:
+                if (c == -1)
+                    return token = EOF;
+                return token = readValue(c);
+            default:
+                if (depth == 0) {
+                    // more than one value in input, e.g. values separated by new line
+                    if (c == -1)
+                        return token = EOF;
+                    return token = readValue(c);
+                }
+                int container = stack[depth - 1];
+                if (c == ELEM_DELIM) {
+                    consume();
+                    c = peek();
+                    if (c != closer(container))
+                        return token = container == MAP_START ? readKey(c) : readValue(c);
+                }
+                if (c == closer(container))
+                    return token = close(container);
+                throw unexpected(c);
+        }
+    }
+
+    /**
+     * If last token is {@link #MAP_START} or {@link #LIST_START}, skips everything till appropriate {@link #MAP_END} or {@link #LIST_END}.
+     * Skipped keys and values are only scanned, no Strings are created for them
+     * @throws IOException on failure reading input
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public void skipChildren() throws IOException, IllegalArgumentException {
+        if (token != MAP_START && token != LIST_START)
+            return;
+        boolean wasSkipping = skipping;
+        skipping = true;
+        try {
+            skipTo(depth - 1);
+        } finally {
+            skipping = wasSkipping;
+        }
+    }
+
+    /**
+     * Skips next value (including its children) without creating it. Useful after {@link #KEY} token
+     * when value is not needed
+     * @return first token of skipped value, i.e. {@link #MAP_END}, {@link #LIST_END} or {@link #EOF} if there was no value
+     * @throws IOException on failure reading input
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public int skipValue() throws IOException, IllegalArgumentException {
+        boolean wasSkipping = skipping;
+        skipping = true;
+        try {
+            int t = next();
+            if (t == MAP_START || t == LIST_START)
+                skipTo(depth - 1);
+            text = null;
+            return t;
+        } finally {
+            skipping = wasSkipping;
+        }
+    }
+
+    private void skipTo(int target) throws IOException {
+        while (depth > target)
+            next();
+        text = null;
+    }
+
+    /**
+     * @return last token returned by {@link #next()}
+     */
+    public int getToken() { return token; }
+
+    /**
+     * @return text of last {@link #KEY}, {@link #STRING}, {@link #SCALAR} or number token
+     */
+    public String getText() {
+        if (text == null && isNumber(token))
+            text = number.text();
+        return text;
+    }
+
+    /**
+     * @return value of last number token, fraction is truncated for decimal numbers
+     * @throws IllegalArgumentException if last token is not a number
+     */
+    public long getLong() throws IllegalArgumentException {
+        switch (token) {
+            case LONG: return number.longValue();
+            case DOUBLE: return (long) number.doubleValue();
+            case BIG_INTEGER:
+            case BIG_DECIMAL:
+                return getNumber().longValue();
+        }
+        throw notNumber();
+    }
+
+    /**
+     * @return value of last number token
+     * @throws IllegalArgumentException if last token is not a number
+     */
+    public double getDouble() throws IllegalArgumentException {
+        switch (token) {
+            case LONG: return number.longValue();
+            case DOUBLE: return number.doubleValue();
+            case BIG_INTEGER:
+            case BIG_DECIMAL:
+                return getNumber().doubleValue();
+        }
+        throw notNumber();
+    }
+
+    /**
+     * @return Long, Double, BigInteger or BigDecimal according to last number token
+     * @throws IllegalArgumentException if last token is not a number
+     */
+    public Number getNumber() throws IllegalArgumentException {
+        switch (token) {
+            case LONG: return number.longValue();
+            case DOUBLE: return number.doubleValue();
+            case BIG_INTEGER: return number.bigIntegerValue();
+            case BIG_DECIMAL: return number.bigDecimalValue();
+        }
+        throw notNumber();
+    }
+
+    public static boolean isNumber(int token) {
+        return token >= LONG && token <= BIG_DECIMAL;
+    }
+
+    /**
+     * @return current depth of maps and lists
+     */
+    public int getDepth() { return depth; }
+
+    @Override
+    public void close() throws IOException {}
+
+    /**
+     * Drops references to current input and to buffers grown over their usual size, so idle reusable tokenizer
+     * (e.g. pooled one) doesn't keep the last and the largest documents it read. Tokenizer should be reset before
+     * it's used again
+     */
+    public void release() {
+        reset();
+    }
+
+    /**
+     * @return table of keys seen by this tokenizer, it's kept on {@link #reset()}
+     */
+    KeyTable keys() {
+        if (keys == null)
+            keys = new KeyTable();
+        return keys;
+    }
+
+    /**
+     * Forgets structure of previous input, so tokenizer could be reused. Subclasses reset their input on top of it
+     */
+    protected void reset() {
+        depth = 0;
+        token = NONE;
+        skipping = false;
+        text = null;
+    }
+
+    private int readKey(int c) throws IOException {
+        if (c == STRING_CHAR || c == CHAR_CHAR) {
+            consume();
+            if (skipping)
+                skipString(c);
+            else
+                text = readKeyString(c);
+        } else if (c == -1) {
+            throw endOfInput();
+        } else if (isStructural(c)) {
+            throw unexpected(c);
+        } else if (skipping) {
+            skipWord();
+        } else {
+            text = readWord();
+        }
+        c = peek();
+        if (c != VALUE_DELIM)
+            throw unexpected(c);
+        consume();
+        return KEY;
+    }
+
+    private int readValue(int c) throws IOException {
+        switch (c) {
+            case START_MAP:
+                consume();
+                push(MAP_START);
+                return MAP_START;
+            case START_ARRAY:
+                consume();
+                push(LIST_START);
+                return LIST_START;
+            case STRING_CHAR:
+            case CHAR_CHAR:
+                consume();
+                if (skipping)
+                    skipString(c);
+                else
+                    text = readString(c);
+                return STRING;
+            case -1:
+                throw endOfInput();
+            case END_MAP:
+            case END_ARRAY:
+            case ELEM_DELIM:
+            case VALUE_DELIM:
+                throw unexpected(c);
+            default:
+                if (skipping) {
+                    skipWord();
+                    return SCALAR;
+                }
+                text = null;
+                return readScalar();
+        }
+    }
+
+    private int close(int container) {
+        consume();
+        depth--;
+        return container == MAP_START ? MAP_END : LIST_END;
+    }
+
+    private void push(int container) {
+        if (depth == stack.length) {
+            int[] grown = new int[stack.length * 2];
+            System.arraycopy(stack, 0, grown, 0, depth);
+            stack = grown;
+        }
+        stack[depth++] = container;
+    }
+
+    private static int closer(int container) {
+        return container == MAP_START ? END_MAP : END_ARRAY;
+    }
+
+    protected static boolean isStructural(int c) {
+        return c == START_MAP || c == END_MAP || c == START_ARRAY || c == END_ARRAY || c == ELEM_DELIM || c == VALUE_DELIM;
+    }
+
+    protected static boolean isWhiteSpace(int c) {
+        return c == SPACE_CHAR || c == END_LINE || c == END_LINE_CARET || c == TAB_CHAR;
+    }
+
+    /**
+     * Decodes escape sequences of JSON string in single pass, the same way as
+     * {@link org.apache.commons.lang3.StringEscapeUtils#unescapeJson(String)} does for JSON escapes:
+     * unknown escape is replaced by escaped character itself
+     * @param s string with escapes
+     * @return decoded string
+     * @throws IllegalArgumentException on invalid unicode escape
+     */
+    protected static String unescape(String s) throws IllegalArgumentException {
+        int i = s.indexOf(ESCAPE_CHAR);
+        if (i < 0)
+            return s;
+        int len = s.length();
+        StringBuilder sb = new StringBuilder(len);
+        int start = 0;
+        while (i >= 0) {
+            sb.append(s, start, i);
+            if (++i == len)
+                return sb.toString();
+            char c = s.charAt(i++);
+            if (c == 'u') {
+                if (i + 4 > len)
+                    throw new IllegalArgumentException("Less than 4 hex digits in unicode value: '" + s.substring(i - 2) + "'");
+                int code = 0;
+                for (int j = i; j < i + 4; j++)
+                    code = code << 4 | hex(s.charAt(j));
+                if (code < 0)
+                    throw new IllegalArgumentException("Unable to parse unicode value: " + s.substring(i, i + 4));
+                sb.append((char) code);
+                i += 4;
+            } else {
+                sb.append(unescape(c));
+            }
+            start = i;
+            i = s.indexOf(ESCAPE_CHAR, i);
+        }
+        return sb.append(s, start, len).toString();
+    }
+
+    private static char unescape(char c) {
+        switch (c) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            default: return c;
+        }
+    }
+
+    // -1 (which keeps accumulated code negative) if c is not hex digit
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9')
+            return c - '0';
+        int lower = c | 0x20;
+        if (lower >= 'a' && lower <= 'f')
+            return lower - 'a' + 10;
+        return -1;
+    }
+
+    protected static boolean isWordEnd(int c) {
+        return c <= SPACE_CHAR && isWhiteSpace(c) || isStructural(c) || c == STRING_CHAR;
+    }
+
+    /**
+     * Finishes number accumulated by {@link #number}
+     * @return number token or {@link #SCALAR} with text set, if characters are not valid number
+     */
+    protected int finishNumber() {
+        int t = number.finish();
+        if (t == SCALAR)
+            text = number.text();
+        return t;
+    }
+
+    /**
+     * Compares word with literals ignoring case, as parser always did
+     * @param word text of not quoted value
+     * @return {@link #TRUE}, {@link #FALSE}, {@link #NULL} or {@link #SCALAR} with text set
+     */
+    protected int literal(String word) {
+        if ("true".equalsIgnoreCase(word))
+            return TRUE;
+        if ("false".equalsIgnoreCase(word))
+            return FALSE;
+        if ("null".equalsIgnoreCase(word))
+            return NULL;
+        text = word;
+        return SCALAR;
+    }
+
+    /**
+     * Same as {@link #literal(String)}, but over characters in buffer
+     * @return {@link #TRUE}, {@link #FALSE}, {@link #NULL} or {@link #SCALAR} if word is not literal
+     */
+    protected static int literal(char[] b, int start, int n) {
+        if (n == 4 && is(b[start], 't') && is(b[start + 1], 'r') && is(b[start + 2], 'u') && is(b[start + 3], 'e'))
+            return TRUE;
+        if (n == 4 && is(b[start], 'n') && is(b[start + 1], 'u') && is(b[start + 2], 'l') && is(b[start + 3], 'l'))
+            return NULL;
+        if (n == 5 && is(b[start], 'f') && is(b[start + 1], 'a') && is(b[start + 2], 'l') && is(b[start + 3], 's') && is(b[start + 4], 'e'))
+            return FALSE;
+        return SCALAR;
+    }
+
+    /**
+     * Same as {@link #literal(String)}, but over bytes in buffer
+     * @return {@link #TRUE}, {@link #FALSE}, {@link #NULL} or {@link #SCALAR} if word is not literal
+     */
+    protected static int literal(byte[] b, int start, int n) {
+        if (n == 4 && is(b[start], 't') && is(b[start + 1], 'r') && is(b[start + 2], 'u') && is(b[start + 3], 'e'))
+            return TRUE;
+        if (n == 4 && is(b[start], 'n') && is(b[start + 1], 'u') && is(b[start + 2], 'l') && is(b[start + 3], 'l'))
+            return NULL;
+        if (n == 5 && is(b[start], 'f') && is(b[start + 1], 'a') && is(b[start + 2], 'l') && is(b[start + 3], 's') && is(b[start + 4], 'e'))
+            return FALSE;
+        return SCALAR;
+    }
+
+    // c | 0x20 is lower case of ASCII letter, upper case letter is the only other character mapped to it
+    private static boolean is(int c, char lower) {
+        return (c | 0x20) == lower;
+    }
+
+    private IllegalArgumentException notNumber() {
+        return new IllegalArgumentException("Current token " + token + " is not a number");
+    }
+
+    protected IllegalArgumentException unexpected(int c) {
+        if (c == -1)
+            return endOfInput();
+        return new IllegalArgumentException("Unexpected character '" + (char) c + "' at position " + getOffset());
+    }
+
+    protected IllegalArgumentException endOfInput() {
+        return new IllegalArgumentException("Reached end of stream - un-parsed data");
+    }
+}
@@ -0,0 +1,61 @@
+package com.mikerusoft.jsonable.transform;
+
+/**
+ * Bounded table of map keys already seen by tokenizer. Keys are matched against buffer range without allocation
+ * and the same String instance is returned for the same key, so arrays of similar objects don't produce
+ * millions of equal key Strings. Table is direct mapped: key replaces other key with the same slot,
+ * so memory never grows over {@link #SIZE} entries. Not thread safe - owned by single tokenizer.
+ * @since 10/18/2026.
+ */
+final class KeyTable {
+
+    static final int SIZE = 256;
+    // longer keys are rare and not worth comparing
+    static final int MAX_LENGTH = 64;
+
+    private final String[] keys = new String[SIZE];
+
+    /**
+     * @param buf buffer with key
+     * @param start start of key
+     * @param len length of key
+     * @param hash hash of key, calculated as {@link String#hashCode()} does
+     * @return canonical String of key
+     */
+    String get(char[] buf, int start, int len, int hash) {
+        if (len > MAX_LENGTH)
+            return new String(buf, start, len);
+        int slot = slot(hash);
+        String key = keys[slot];
+        if (key != null && key.hashCode() == hash && key.length() == len) {
+            int i = 0;
+            while (i < len && key.charAt(i) == buf[start + i])
+                i++;
+            if (i == len)
+                return key;
+        }
+        return keys[slot] = new String(buf, start, len);
+    }
+
+    /**
+     * Same as {@link #get(char[], int, int, int)} for ASCII key in bytes
+     */
+    String get(byte[] buf, int start, int len, int hash) {
+        if (len > MAX_LENGTH)
+            return new String(buf, start, len, Utf8Tokenizer.ISO_8859_1);
+        int slot = slot(hash);
+        String key = keys[slot];
+        if (key != null && key.hashCode() == hash && key.length() == len) {
+            int i = 0;
+            while (i < len && key.charAt(i) == buf[start + i])
+                i++;
+            if (i == len)
+                return key;
+        }
+        return keys[slot] = new String(buf, start, len, Utf8Tokenizer.ISO_8859_1);
+    }
+
+    private static int slot(int hash) {
+        return (hash ^ hash >>> 16) & (SIZE - 1);
+    }
+}
@@ -29,15 +29,20 @@ public class ListTransformer extends TransformerImpl {
 
     @Override
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
+        transform(o, out, WriteContext.of(groups));
+    }
+
+    @Override
+    void transform(Object o, Outputter<String> out, WriteContext context) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
         List<?> l = (List<?>)o;
-        out.write("[");
+        write(out, '[');
         for (int i=0; i<l.size(); i++) {
             Object p = l.get(i);
-            TransformerFactory.get(p).transform(p, out, groups);
+            writeValue(TransformerFactory.get(p), p, out, context);
             if (i != l.size() - 1)
-                out.write(",");
+                write(out, ',');
         }
-        out.write("]");
+        write(out, ']');
     }
 
     @Override public int matchPriority() { return Transformer.HIGH_PRIORITY + 1; }
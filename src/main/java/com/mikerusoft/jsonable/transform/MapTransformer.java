@@ -1,6 +1,5 @@
 package com.mikerusoft.jsonable.transform;
 
-import com.mikerusoft.jsonable.utils.ConfInfo;
 import com.mikerusoft.jsonable.utils.Outputter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,24 +29,29 @@ public class MapTransformer  extends TransformerImpl {
 
     @Override
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
-        //Configuration c = ContextManager.get(Configuration.class);
-        boolean includeNull = ConfInfo.isIncludeNull(); // Configuration.getBooleanProperty(c, Configuration.INCLUDE_NULL_PROPERTY, false);
+        transform(o, out, WriteContext.of(groups));
+    }
+
+    @Override
+    void transform(Object o, Outputter<String> out, WriteContext context) throws IOException, InvocationTargetException, IllegalAccessException, InstantiationException {
+        boolean includeNull = context.includeNull;
         Map<?, ?> m = (Map<?, ?>)o;
         int i=0;
-        out.write("{");
+        write(out, '{');
         for (Map.Entry<?, ?> entry : m.entrySet()) {
             Object p = entry.getValue();
             if (includeNull || p != null) {
-                String key = "\"" + String.valueOf(entry.getKey()).replaceAll("\"", "\\\"") + "\"";
-                out.write(key);
-                out.write(":");
-                TransformerFactory.get(p).transform(p, out, groups);
+                write(out, '"');
+                out.write(String.valueOf(entry.getKey()).replaceAll("\"", "\\\""));
+                write(out, '"');
+                write(out, ':');
+                writeValue(TransformerFactory.get(p), p, out, context);
                 if (i != m.size() - 1)
-                    out.write(",");
+                    write(out, ',');
             }
             i++;
         }
-        out.write("}");
+        write(out, '}');
     }
 
     @Override public int matchPriority() { return Transformer.HIGH_PRIORITY; }
@@ -0,0 +1,326 @@
+package com.mikerusoft.jsonable.transform;
+
+import com.mikerusoft.jsonable.refelection.ReflectionCache;
+import com.mikerusoft.jsonable.utils.ConfInfo;
+
+import java.util.*;
+
+/**
+ * Push parser for UTF-8 JSON, which never blocks: input is fed in chunks as it arrives (e.g. from NIO event loop)
+ * and {@link #next()} parses as much as it can. Whole state (open maps and lists, partially read string or number)
+ * is kept in fields and explicit stack, not on Java call stack, so thousands of half received documents could
+ * be held by single thread. Values are the same as {@link JsonParser#parseValue(JsonTokenizer, int)} returns.
+ * <pre>
+ *     parser.feed(bytes, 0, n);
+ *     int status;
+ *     while ((status = parser.next()) == NonBlockingJsonParser.VALUE)
+ *         handle(parser.getValue());
+ *     // status is NEED_MORE_INPUT - wait for next chunk
+ * </pre>
+ * Fed array is referenced (not copied) till {@link #next()} returns {@link #NEED_MORE_INPUT}.
+ * Several top level values could follow each other in input.
+ * @since 10/18/2026.
+ */
+public class NonBlockingJsonParser {
+
+    public static final int
+        NEED_MORE_INPUT = 0,
+        VALUE = 1,
+        EOF = 2;
+
+    // what is expected in current container
+    private static final int
+        EXPECT_VALUE = 0,
+        EXPECT_KEY = 1,
+        EXPECT_COLON = 2,
+        EXPECT_DELIM = 3;
+
+    // what is being read now
+    private static final int
+        LEX_NONE = 0,
+        LEX_STRING = 1,
+        LEX_WORD = 2;
+
+    private static final int SCRATCH_SIZE = 32;
+    // scratch grown over this by single long string is dropped, when top level value completes
+    private static final int MAX_KEPT_SCRATCH = 8 * 1024;
+
+    private final List<String> groups;
+    private final String classProperty;
+    private final NumberScanner number = new NumberScanner();
+
+    private byte[] input;
+    private int pos;
+    private int limit;
+    private long offset;
+    private boolean ended = false;
+
+    private int lex = LEX_NONE;
+    private int quote;
+    private boolean escaped;
+    private boolean hasEscapes;
+    private boolean ascii;
+    private byte[] scratch = new byte[SCRATCH_SIZE];
+    private int length;
+
+    // frame 0 is top level, containers of frames 1..depth are open maps and lists
+    private Object[] containers = new Object[4];
+    private String[] keys = new String[4];
+    private int[] states = new int[4];
+    private int depth = 0;
+
+    private Object value;
+    private boolean completed = false;
+
+    public NonBlockingJsonParser(String...groups) {
+        this.groups = groups == null ? null : new ArrayList<>(Arrays.asList(groups));
+        this.classProperty = ConfInfo.getClassProperty();
+        states[0] = EXPECT_VALUE;
+    }
+
+    /**
+     * Feeds next chunk of input. Should be called only after {@link #next()} returned {@link #NEED_MORE_INPUT}
+     * @param data chunk of input
+     * @param off start of chunk in data
+     * @param len length of chunk
+     * @throws IllegalStateException if previous chunk is not parsed yet or end of input has been signaled
+     */
+    public void feed(byte[] data, int off, int len) throws IllegalStateException {
+        if (pos < limit)
+            throw new IllegalStateException("Previous input is not parsed yet");
+        if (ended)
+            throw new IllegalStateException("End of input has been signaled");
+        offset += limit;
+        input = data;
+        pos = off;
+        limit = off + len;
+        offset -= off;
+    }
+
+    /**
+     * Signals that there is no more input, so last value (e.g. top level number) could be completed
+     */
+    public void endOfInput() {
+        ended = true;
+    }
+
+    /**
+     * Parses fed input
+     * @return {@link #VALUE} when top level value is completed (see {@link #getValue()}), {@link #NEED_MORE_INPUT}
+     * when fed input is consumed or {@link #EOF} when input is ended and everything is parsed
+     * @throws IllegalArgumentException on invalid JSON
+     */
+    public int next() throws IllegalArgumentException {
+        completed = false;
+        while (pos < limit) {
+            if (lex == LEX_STRING) {
+                readString();
+            } else if (lex == LEX_WORD) {
+                readWord();
+            } else {
+                int c = input[pos] & 0xff;
+                if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                    pos++;
+                    continue;
+                }
+                structure(c);
+            }
+            if (completed)
+                return VALUE;
+        }
+        if (!ended)
+            return NEED_MORE_INPUT;
+        if (lex == LEX_WORD) {
+            word();
+            if (completed)
+                return VALUE;
+        }
+        if (lex != LEX_NONE || depth > 0)
+            throw new IllegalArgumentException("Reached end of stream - un-parsed data");
+        return EOF;
+    }
+
+    /**
+     * @return last completed top level value
+     */
+    public Object getValue() { return value; }
+
+    /**
+     * @return number of bytes consumed from the beginning of input
+     */
+    public long getOffset() { return offset + pos; }
+
+    private void structure(int c) {
+        int state = states[depth];
+        Object container = containers[depth];
+        pos++;
+        switch (c) {
+            case '{':
+            case '[':
+                if (state != EXPECT_VALUE)
+                    throw unexpected(c);
+                push(c == '{' ? new HashMap<String, Object>() : new ArrayList<>(), c == '{' ? EXPECT_KEY : EXPECT_VALUE);
+                break;
+            case '}':
+                if (!(container instanceof Map) || state != EXPECT_KEY && state != EXPECT_DELIM)
+                    throw unexpected(c);
+                pop();
+                break;
+            case ']':
+                if (!(container instanceof List) || state != EXPECT_VALUE && state != EXPECT_DELIM)
+                    throw unexpected(c);
+                pop();
+                break;
+            case ',':
+                if (depth == 0 || state != EXPECT_DELIM)
+                    throw unexpected(c);
+                states[depth] = container instanceof Map ? EXPECT_KEY : EXPECT_VALUE;
+                break;
+            case ':':
+                if (state != EXPECT_COLON)
+                    throw unexpected(c);
+                states[depth] = EXPECT_VALUE;
+                break;
+            case '"':
+            case '\'':
+                if (state != EXPECT_VALUE && state != EXPECT_KEY)
+                    throw unexpected(c);
+                lex = LEX_STRING;
+                quote = c;
+                escaped = hasEscapes = false;
+                ascii = true;
+                length = 0;
+                break;
+            default:
+                if (state != EXPECT_VALUE && state != EXPECT_KEY)
+                    throw unexpected(c);
+                lex = LEX_WORD;
+                length = 0;
+                pos--;
+        }
+    }
+
+    private void readString() {
+        int start = pos;
+        while (pos < limit) {
+            byte b = input[pos++];
+            if (b < 0) {
+                ascii = false;
+                escaped = false;
+            } else if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                escaped = hasEscapes = true;
+            } else if (b == quote) {
+                append(start, pos - start - 1);
+                lex = LEX_NONE;
+                String s = new String(scratch, 0, length, ascii ? Utf8Tokenizer.ISO_8859_1 : Utf8Tokenizer.UTF_8);
+                if (hasEscapes)
+                    s = JsonTokenizer.unescape(s);
+                if (states[depth] == EXPECT_KEY)
+                    key(s);
+                else
+                    value(s.trim().equalsIgnoreCase("null") ? "" : s);
+                return;
+            }
+        }
+        // string continues in next chunk
+        append(start, pos - start);
+    }
+
+    private void readWord() {
+        int start = pos;
+        while (pos < limit) {
+            if (JsonTokenizer.isWordEnd(input[pos])) {
+                append(start, pos - start);
+                word();
+                return;
+            }
+            pos++;
+        }
+        append(start, pos - start);
+    }
+
+    private void word() {
+        lex = LEX_NONE;
+        if (states[depth] == EXPECT_KEY) {
+            key(new String(scratch, 0, length, Utf8Tokenizer.UTF_8));
+            return;
+        }
+        int token = JsonTokenizer.SCALAR;
+        if (NumberScanner.isStart(scratch[0])) {
+            number.reset();
+            int i = 0;
+            while (i < length && number.accept(scratch[i]))
+                i++;
+            if (i == length)
+                token = number.finish();
+        } else {
+            token = JsonTokenizer.literal(scratch, 0, length);
+        }
+        switch (token) {
+            case JsonTokenizer.LONG: value(number.longValue()); break;
+            case JsonTokenizer.DOUBLE: value(number.doubleValue()); break;
+            case JsonTokenizer.BIG_INTEGER: value(number.bigIntegerValue()); break;
+            case JsonTokenizer.BIG_DECIMAL: value(number.bigDecimalValue()); break;
+            case JsonTokenizer.TRUE: value(Boolean.TRUE); break;
+            case JsonTokenizer.FALSE: value(Boolean.FALSE); break;
+            case JsonTokenizer.NULL: value(""); break;
+            default: value(new String(scratch, 0, length, Utf8Tokenizer.UTF_8));
+        }
+    }
+
+    private void key(String key) {
+        keys[depth] = key;
+        states[depth] = EXPECT_COLON;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void value(Object v) {
+        if (depth == 0) {
+            value = v;
+            completed = true;
+            if (scratch.length > MAX_KEPT_SCRATCH)
+                scratch = new byte[SCRATCH_SIZE];
+            return;
+        }
+        Object container = containers[depth];
+        if (container instanceof Map)
+            ((Map<String, Object>) container).put(keys[depth], v);
+        else
+            ((List<Object>) container).add(v);
+        states[depth] = EXPECT_DELIM;
+    }
+
+    private void push(Object container, int state) {
+        if (++depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+            states = Arrays.copyOf(states, depth * 2);
+        }
+        containers[depth] = container;
+        states[depth] = state;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pop() {
+        Object container = containers[depth];
+        containers[depth] = null;
+        keys[depth] = null;
+        depth--;
+        if (container instanceof Map && ((Map<String, Object>) container).containsKey(classProperty))
+            container = ReflectionCache.createClass((Map<String, Object>) container, groups);
+        value(container);
+    }
+
+    private void append(int start, int n) {
+        if (length + n > scratch.length)
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, length + n));
+        System.arraycopy(input, start, scratch, length, n);
+        length += n;
+    }
+
+    private IllegalArgumentException unexpected(int c) {
+        return new IllegalArgumentException("Unexpected character '" + (char) c + "' at position " + (getOffset() - 1));
+    }
+}
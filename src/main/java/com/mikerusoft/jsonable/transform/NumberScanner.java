@@ -0,0 +1,213 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Classifies and accumulates number while tokenizer reads its characters, so no String is created and parsed again.
+ * Accepts optional sign, integer part, fraction (with or without leading zero) and exponent.
+ * Integers out of long range are promoted to {@link BigInteger}, decimals out of double range (overflow or
+ * underflow to zero) - to {@link BigDecimal}.
+ * @since 10/18/2026.
+ */
+final class NumberScanner {
+
+    private static final int
+        START = 0,
+        SIGN = 1,
+        INT = 2,
+        FRACTION = 3,
+        EXP_START = 4,
+        EXP_SIGN = 5,
+        EXP = 6;
+
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private char[] chars = new char[32];
+    private int length;
+    private int state;
+    private boolean negative;
+    private boolean hasDigits;
+    // integer value, accumulated as negative number, in order to cover Long.MIN_VALUE
+    private long integer;
+    private boolean integerOverflow;
+    // decimal value as mantissa * 10^exponent
+    private long mantissa;
+    private int significant;
+    private int exponent;
+    private boolean truncated;
+    private int exp;
+    private boolean expNegative;
+    private double doubleValue;
+
+    static boolean isStart(int c) {
+        return c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.';
+    }
+
+    void reset() {
+        length = 0;
+        state = START;
+        negative = false;
+        hasDigits = false;
+        integer = 0;
+        integerOverflow = false;
+        mantissa = 0;
+        significant = 0;
+        exponent = 0;
+        truncated = false;
+        exp = 0;
+        expNegative = false;
+    }
+
+    /**
+     * Accepts next character of number
+     * @param c character
+     * @return false if character can't be part of number, in this case character is not consumed
+     */
+    boolean accept(int c) {
+        int d = c - '0';
+        boolean digit = d >= 0 && d <= 9;
+        // sign is optional, number without it continues as after sign
+        if (state == START || state == EXP_START) {
+            boolean sign = c == '-' || c == '+';
+            if (state == START) {
+                negative = c == '-';
+                state = SIGN;
+            } else {
+                expNegative = c == '-';
+                state = EXP_SIGN;
+            }
+            if (sign) {
+                append(c);
+                return true;
+            }
+        }
+        switch (state) {
+            case SIGN:
+            case INT:
+                if (digit) {
+                    hasDigits = true;
+                    state = INT;
+                    integer(d);
+                    mantissa(d);
+                } else if (c == '.') {
+                    state = FRACTION;
+                } else if (state == INT && (c == 'e' || c == 'E')) {
+                    state = EXP_START;
+                } else {
+                    return false;
+                }
+                break;
+            case FRACTION:
+                if (digit) {
+                    hasDigits = true;
+                    fraction(d);
+                } else if (hasDigits && (c == 'e' || c == 'E')) {
+                    state = EXP_START;
+                } else {
+                    return false;
+                }
+                break;
+            case EXP_SIGN:
+            case EXP:
+                if (!digit)
+                    return false;
+                state = EXP;
+                if (exp < 100000)
+                    exp = exp * 10 + d;
+                break;
+        }
+        append(c);
+        return true;
+    }
+
+    /**
+     * Finishes number
+     * @return one of {@link JsonTokenizer#LONG}, {@link JsonTokenizer#DOUBLE}, {@link JsonTokenizer#BIG_INTEGER},
+     * {@link JsonTokenizer#BIG_DECIMAL} or {@link JsonTokenizer#SCALAR} if characters are not valid number
+     */
+    int finish() {
+        if (!hasDigits || state == SIGN || state == EXP_START || state == EXP_SIGN)
+            return JsonTokenizer.SCALAR;
+        if (state == INT)
+            return integerOverflow ? JsonTokenizer.BIG_INTEGER : JsonTokenizer.LONG;
+        int e = exponent + (expNegative ? -exp : exp);
+        double d;
+        if (!truncated && mantissa < MAX_EXACT_MANTISSA && e >= -22 && e <= 22) {
+            // both mantissa and power of 10 are exact, so single operation gives correctly rounded result
+            d = e < 0 ? mantissa / POW10[-e] : mantissa * POW10[e];
+        } else {
+            d = Double.parseDouble(text());
+        }
+        if (Double.isInfinite(d) || d == 0 && mantissa != 0)
+            return JsonTokenizer.BIG_DECIMAL;
+        doubleValue = negative ? -d : d;
+        return JsonTokenizer.DOUBLE;
+    }
+
+    long longValue() { return negative ? integer : -integer; }
+
+    double doubleValue() { return doubleValue; }
+
+    BigInteger bigIntegerValue() { return new BigInteger(text()); }
+
+    BigDecimal bigDecimalValue() { return new BigDecimal(chars, 0, length); }
+
+    String text() { return new String(chars, 0, length); }
+
+    private void append(int c) {
+        if (length == chars.length) {
+            char[] grown = new char[length * 2];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+        chars[length++] = (char) c;
+    }
+
+    private void integer(int d) {
+        if (integerOverflow)
+            return;
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        if (integer < limit / 10) {
+            integerOverflow = true;
+            return;
+        }
+        integer *= 10;
+        if (integer < limit + d) {
+            integerOverflow = true;
+            return;
+        }
+        integer -= d;
+    }
+
+    private void mantissa(int d) {
+        if (mantissa == 0 && d == 0)
+            return;
+        significant++;
+        if (significant <= MAX_MANTISSA_DIGITS) {
+            mantissa = mantissa * 10 + d;
+        } else {
+            exponent++;
+            truncated |= d != 0;
+        }
+    }
+
+    private void fraction(int d) {
+        if (mantissa == 0 && d == 0) {
+            exponent--;
+            return;
+        }
+        significant++;
+        if (significant <= MAX_MANTISSA_DIGITS) {
+            mantissa = mantissa * 10 + d;
+            exponent--;
+        } else {
+            truncated |= d != 0;
+        }
+    }
+}
@@ -34,13 +34,27 @@ public class PrimitiveTransformer  extends TransformerImpl {
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, InvocationTargetException, IllegalAccessException {
         boolean includePrimitiveClass = ConfInfo.isIncludePrimitiveClass(); // Configuration.getBooleanProperty(c, Configuration.INCLUDE_PRIMITIVE_CLASS_PROPERTY, false);
         if (!includePrimitiveClass) {
-            out.write(String.valueOf(o));
+            writeValue(o, out);
         } else {
-            String cl = ConfInfo.getClassProperty(); // Configuration.getStringProperty(c, Configuration.CLASS_PROPERTY, Configuration.DEFAULT_CLASS_PROPERTY_VALUE);
-            out.write("{\"value\": " + String.valueOf(o) + ",\"" + cl + "\":\"" + o.getClass().getName() + "\"}");
+            out.write("{\"value\": ");
+            writeValue(o, out);
+            writeClassProperty(out, o);
+            write(out, '}');
         }
 
     }
 
+    private static void writeValue(Object o, Outputter<String> out) throws IOException {
+        // the same text as String.valueOf(o), but without creating it. Float is printed with float precision, so goes as String
+        if (o instanceof Integer || o instanceof Long || o instanceof Short || o instanceof Byte)
+            write(out, ((Number) o).longValue());
+        else if (o instanceof Double)
+            write(out, ((Double) o).doubleValue());
+        else if (o instanceof Character)
+            write(out, ((Character) o).charValue());
+        else
+            out.write(String.valueOf(o));
+    }
+
     @Override public int matchPriority() { return Transformer.HIGH_PRIORITY; }
 }
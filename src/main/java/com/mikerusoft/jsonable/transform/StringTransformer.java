@@ -1,6 +1,7 @@
 package com.mikerusoft.jsonable.transform;
 
 import com.mikerusoft.jsonable.utils.Outputter;
+import com.mikerusoft.jsonable.utils.PrimitiveOutputter;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.text.translate.*;
 import org.apache.commons.logging.Log;
@@ -42,7 +43,42 @@ public class StringTransformer  extends TransformerImpl {
 
     @Override
     public void transform(Object o, Outputter<String> out, String... groups) throws IOException, InvocationTargetException, IllegalAccessException {
-        out.write("\"" + ESCAPE_JSON.translate((String) o) + "\"");
+        if (out instanceof PrimitiveOutputter) {
+            escape((String) o, (PrimitiveOutputter) out);
+        } else {
+            out.write("\"" + ESCAPE_JSON.translate((String) o) + "\"");
+        }
+    }
+
+    /**
+     * Writes quoted string escaped the same way as {@link #ESCAPE_JSON}, but without creating new String:
+     * chars, which don't need escaping, are written as ranges of original String
+     */
+    private static void escape(String s, PrimitiveOutputter out) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            char escaped;
+            switch (c) {
+                case '"': escaped = '"'; break;
+                case '\\': escaped = '\\'; break;
+                case '\b': escaped = 'b'; break;
+                case '\n': escaped = 'n'; break;
+                case '\t': escaped = 't'; break;
+                case '\f': escaped = 'f'; break;
+                case '\r': escaped = 'r'; break;
+                default: continue;
+            }
+            if (i > start)
+                out.write(s, start, i);
+            out.write('\\');
+            out.write(escaped);
+            start = i + 1;
+        }
+        if (start < s.length())
+            out.write(s, start, s.length());
+        out.write('"');
     }
 
     @Override public int matchPriority() { return Transformer.HIGH_PRIORITY + 1; }
@@ -0,0 +1,191 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Positions of structural characters ({ } [ ] : ,) outside of strings in UTF-8 JSON.
+ * Input is scanned 8 bytes at a time: every byte of the word is compared with all interesting characters at once
+ * by SWAR (SIMD within a register) bit tricks, and only found candidates are visited to keep track of strings.
+ * Index is used to split JSON into independent parts, e.g. elements of top level array, which are then parsed in parallel.
+ * @since 10/18/2026.
+ */
+public final class StructuralIndex {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long
+        QUOTE = ONES * '"',
+        APOSTROPHE = ONES * '\'',
+        ESCAPE = ONES * '\\',
+        START_MAP = ONES * '{',
+        END_MAP = ONES * '}',
+        START_ARRAY = ONES * '[',
+        END_ARRAY = ONES * ']',
+        VALUE_DELIM = ONES * ':',
+        ELEM_DELIM = ONES * ',';
+
+    private final byte[] data;
+    private final int start;
+    private final int end;
+    private int[] positions = new int[64];
+    private int size = 0;
+    private boolean inString = false;
+    private byte quote;
+    private int escaped = -1;
+
+    private StructuralIndex(byte[] data, int start, int end) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Builds index of UTF-8 JSON
+     * @param data data to index
+     * @param off start of JSON in data
+     * @param len length of JSON
+     * @return index
+     */
+    public static StructuralIndex build(byte[] data, int off, int len) {
+        StructuralIndex index = new StructuralIndex(data, off, off + len);
+        index.scan();
+        return index;
+    }
+
+    /**
+     * @return number of structural characters
+     */
+    public int size() { return size; }
+
+    /**
+     * @param i index of structural character
+     * @return its position in data
+     */
+    public int position(int i) { return positions[i]; }
+
+    /**
+     * Splits top level array into its elements
+     * @return pairs of start (inclusive) and end (exclusive) positions of elements, or null if top level value is not
+     * an array or JSON is broken (in both cases it should be parsed sequentially)
+     */
+    public int[] arrayElements() {
+        if (size == 0 || data[positions[0]] != '[' || !isBlank(start, positions[0]))
+            return null;
+        int[] bounds = new int[16];
+        int count = 0;
+        int depth = 0;
+        int elementStart = positions[0] + 1;
+        for (int i = 0; i < size; i++) {
+            int p = positions[i];
+            switch (data[p]) {
+                case '[':
+                case '{':
+                    depth++;
+                    break;
+                case ']':
+                case '}':
+                    if (--depth > 0)
+                        break;
+                    // top level array closed, anything else (e.g. more values) is left to sequential parsing
+                    if (depth < 0 || data[p] != ']' || !isBlank(p + 1, end))
+                        return null;
+                    if (count + 2 > bounds.length)
+                        bounds = Arrays.copyOf(bounds, count + 2);
+                    count = element(bounds, count, elementStart, p);
+                    return Arrays.copyOf(bounds, count);
+                case ',':
+                    if (depth > 1)
+                        break;
+                    if (count + 2 > bounds.length)
+                        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    count = element(bounds, count, elementStart, p);
+                    elementStart = p + 1;
+                    break;
+            }
+        }
+        return null;
+    }
+
+    // adds element [from, to) unless it's blank, bounds have room for it
+    private int element(int[] bounds, int count, int from, int to) {
+        if (isBlank(from, to))
+            return count;
+        bounds[count++] = from;
+        bounds[count++] = to;
+        return count;
+    }
+
+    private void scan() {
+        int i = start;
+        if (end - start >= 8) {
+            ByteBuffer words = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+            for (; i + 8 <= end; i += 8) {
+                long word = words.getLong(i);
+                long mask = match(word, QUOTE) | match(word, APOSTROPHE) | match(word, ESCAPE) |
+                    match(word, START_MAP) | match(word, END_MAP) | match(word, START_ARRAY) | match(word, END_ARRAY) |
+                    match(word, VALUE_DELIM) | match(word, ELEM_DELIM);
+                while (mask != 0) {
+                    // little endian, so lowest set bit belongs to the first matched byte
+                    candidate(i + (Long.numberOfTrailingZeros(mask) >>> 3));
+                    mask &= mask - 1;
+                }
+            }
+        }
+        for (; i < end; i++) {
+            switch (data[i]) {
+                case '"': case '\'': case '\\': case '{': case '}': case '[': case ']': case ':': case ',':
+                    candidate(i);
+            }
+        }
+    }
+
+    // high bit is set in every byte of word equal to the byte of pattern, without carries between bytes
+    private static long match(long word, long pattern) {
+        long v = word ^ pattern;
+        return ~(((v & LOW7) + LOW7) | v | LOW7);
+    }
+
+    private void candidate(int p) {
+        byte c = data[p];
+        if (inString) {
+            if (p == escaped)
+                return;
+            if (c == '\\')
+                escaped = p + 1;
+            else if (c == quote)
+                inString = false;
+            return;
+        }
+        if (c == '"' || c == '\'' && valueStart(p)) {
+            inString = true;
+            quote = c;
+        } else if (c != '\\') {
+            if (size == positions.length)
+                positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = p;
+        }
+    }
+
+    // apostrophe is a quote only at start of key or value, as tokenizer treats it, elsewhere it's part of a word
+    private boolean valueStart(int p) {
+        for (int i = p - 1; i >= start; i--) {
+            byte c = data[i];
+            if (c == '{' || c == '[' || c == ',' || c == ':')
+                return true;
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return false;
+        }
+        return true;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte c = data[i];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return false;
+        }
+        return true;
+    }
+}
@@ -23,21 +23,29 @@ public class TransformerFactory {
     private static Map<String, Transformer> cache = new ConcurrentHashMap<String, Transformer>();
 
     public static Transformer get(Object o) {
-        Map<Integer, Transformer> matched = new TreeMap<Integer, Transformer>();
         if (Null.match(o))
             return Null;
-        Transformer transformer = cache.get(o.getClass().getName());
+        return get(o.getClass());
+    }
+
+    /**
+     * @param clazz class of not null value
+     * @return the same Transformer as {@link #get(Object)} returns for value of clazz
+     */
+    static Transformer get(Class<?> clazz) {
+        Transformer transformer = cache.get(clazz.getName());
         if (transformer != null)
             return transformer;
+        Map<Integer, Transformer> matched = new TreeMap<Integer, Transformer>();
         for (Transformer t : transformers) {
-            if (t.match(o))
+            if (t.matchClass(clazz))
                 matched.put(t.matchPriority(), t);
         }
         if (matched.size() <= 0)
             return Null;
 
         transformer = (Transformer)matched.values().toArray()[0];
-        cache.put(o.getClass().getName(), transformer);
+        cache.put(clazz.getName(), transformer);
         return transformer;
     }
 
@@ -1,6 +1,8 @@
 package com.mikerusoft.jsonable.transform;
 
+import com.mikerusoft.jsonable.utils.ConfInfo;
 import com.mikerusoft.jsonable.utils.Outputter;
+import com.mikerusoft.jsonable.utils.PrimitiveOutputter;
 
 import java.io.IOException;
 import java.lang.reflect.AnnotatedElement;
@@ -16,4 +18,67 @@ public abstract class TransformerImpl implements Transformer {
     public void transform(AnnotatedElement ao, Object o, Outputter<String> out, String... groups) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
         transform(o, out, groups);
     }
+
+    /**
+     * Same as {@link #transform(Object, Outputter, String...)} for value of write, which configuration is already
+     * resolved. Transformers of objects and containers override it in order to pass context down to nested values
+     */
+    void transform(Object o, Outputter<String> out, WriteContext context) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        transform(o, out, context.groups);
+    }
+
+    /**
+     * Writes nested value by its transformer, with context, if transformer supports it
+     */
+    static void writeValue(Transformer t, Object o, Outputter<String> out, WriteContext context) throws IOException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        if (t instanceof TransformerImpl)
+            ((TransformerImpl) t).transform(o, out, context);
+        else
+            t.transform(o, out, context.groups);
+    }
+
+    /**
+     * Writes char without creating String, if outputter supports it
+     */
+    protected static void write(Outputter<String> out, char c) throws IOException {
+        if (out instanceof PrimitiveOutputter)
+            ((PrimitiveOutputter) out).write(c);
+        else
+            out.write(String.valueOf(c));
+    }
+
+    /**
+     * Writes text, copying its UTF-8 bytes prepared ahead, if outputter supports it
+     */
+    protected static void write(Outputter<String> out, String s, byte[] utf8) throws IOException {
+        if (out instanceof PrimitiveOutputter)
+            ((PrimitiveOutputter) out).write(s, utf8);
+        else
+            out.write(s);
+    }
+
+    /**
+     * Writes class property of object, prefixed by comma: ,"class":"name"
+     */
+    protected static void writeClassProperty(Outputter<String> out, Object o) throws IOException {
+        out.write(",\"");
+        out.write(ConfInfo.getClassProperty()); // Configuration.getStringProperty(c, Configuration.CLASS_PROPERTY, Configuration.DEFAULT_CLASS_PROPERTY_VALUE);
+        out.write("\":\"");
+        out.write(o.getClass().getName());
+        write(out, '"');
+    }
+
+    protected static void write(Outputter<String> out, long l) throws IOException {
+        if (out instanceof PrimitiveOutputter)
+            ((PrimitiveOutputter) out).write(l);
+        else
+            out.write(String.valueOf(l));
+    }
+
+    protected static void write(Outputter<String> out, double d) throws IOException {
+        if (out instanceof PrimitiveOutputter)
+            ((PrimitiveOutputter) out).write(d);
+        else
+            out.write(String.valueOf(d));
+    }
 }
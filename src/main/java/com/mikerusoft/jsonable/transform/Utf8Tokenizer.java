@@ -0,0 +1,309 @@
+package com.mikerusoft.jsonable.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Tokenizer working directly on UTF-8 bytes. Structure, numbers and literals are scanned as bytes,
+ * only content of strings is decoded into characters. Since JSON structural characters are ASCII and
+ * every byte of multi-byte UTF-8 sequence has high bit set, there is no need to decode whole input before parsing.
+ * @since 10/18/2026.
+ */
+public class Utf8Tokenizer extends JsonTokenizer {
+
+    public static final int BUFFER_SIZE = 16 * 1024;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+    static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private InputStream in;
+    protected byte[] buf;
+    // own buffer, kept between resets
+    private byte[] window;
+    protected int pos;
+    protected int limit;
+    protected long offset;
+    private byte[] scratch = new byte[256];
+
+    /**
+     * For subclasses, which provide their own buffer and override {@link #fill()}
+     */
+    protected Utf8Tokenizer() {}
+
+    public Utf8Tokenizer(InputStream in) {
+        this.in = in;
+        this.buf = this.window = new byte[BUFFER_SIZE];
+    }
+
+    public Utf8Tokenizer(byte[] data, int off, int len) {
+        this.buf = data;
+        this.pos = off;
+        this.limit = off + len;
+        this.offset = -off;
+        skipBom();
+    }
+
+    /**
+     * Starts reading new input, keeping buffers of this tokenizer
+     * @param in new input
+     * @return this tokenizer
+     */
+    public Utf8Tokenizer reset(InputStream in) {
+        reset();
+        if (window == null)
+            window = new byte[BUFFER_SIZE];
+        this.in = in;
+        this.buf = window;
+        this.pos = this.limit = 0;
+        this.offset = 0;
+        return this;
+    }
+
+    /**
+     * Starts reading new input, keeping buffers of this tokenizer
+     * @param data new input
+     * @param off start of input in data
+     * @param len length of input
+     * @return this tokenizer
+     */
+    public Utf8Tokenizer reset(byte[] data, int off, int len) {
+        reset();
+        this.in = null;
+        this.buf = data;
+        this.pos = off;
+        this.limit = off + len;
+        this.offset = -off;
+        skipBom();
+        return this;
+    }
+
+    /**
+     * Tests if charset could be parsed by this tokenizer
+     * @param charset charset of input
+     * @return true for UTF-8 and its subset US-ASCII
+     */
+    public static boolean supports(Charset charset) {
+        return UTF_8.equals(charset) || "US-ASCII".equals(charset.name());
+    }
+
+    @Override
+    protected int peek() throws IOException {
+        do {
+            while (pos < limit) {
+                int c = buf[pos];
+                if (c > SPACE_CHAR || !isWhiteSpace(c))
+                    return c & 0xff;
+                pos++;
+            }
+        } while (fill());
+        return -1;
+    }
+
+    @Override
+    protected void consume() { pos++; }
+
+    @Override
+    protected String readString(int quote) throws IOException {
+        int start = pos;
+        boolean ascii = true;
+        while (pos < limit) {
+            byte b = buf[pos];
+            if (b == quote) {
+                // no escapes and whole string is in window - String is decoded directly from it
+                pos++;
+                return new String(buf, start, pos - start - 1, ascii ? ISO_8859_1 : UTF_8);
+            }
+            if (b == ESCAPE_CHAR)
+                break;
+            ascii &= b >= 0;
+            pos++;
+        }
+        int len = 0;
+        boolean escaped = false;
+        boolean hasEscapes = false;
+        pos = start;
+        do {
+            start = pos;
+            while (pos < limit) {
+                byte b = buf[pos++];
+                if (b < 0) {
+                    ascii = false;
+                    escaped = false;
+                } else if (escaped) {
+                    escaped = false;
+                } else if (b == ESCAPE_CHAR) {
+                    escaped = hasEscapes = true;
+                } else if (b == quote) {
+                    int n = pos - start - 1;
+                    String s;
+                    if (len == 0) {
+                        s = new String(buf, start, n, ascii ? ISO_8859_1 : UTF_8);
+                    } else {
+                        len = append(start, n, len);
+                        s = new String(scratch, 0, len, ascii ? ISO_8859_1 : UTF_8);
+                    }
+                    return hasEscapes ? unescape(s) : s;
+                }
+            }
+            // string crosses end of window, keep its bytes till the end is found
+            len = append(start, pos - start, len);
+        } while (fill());
+        throw endOfInput();
+    }
+
+    @Override
+    protected String readKeyString(int quote) throws IOException {
+        int start = pos;
+        int hash = 0;
+        while (pos < limit) {
+            byte b = buf[pos];
+            if (b == quote) {
+                pos++;
+                return keys().get(buf, start, pos - start - 1, hash);
+            }
+            if (b == ESCAPE_CHAR || b < 0)
+                break;
+            hash = 31 * hash + b;
+            pos++;
+        }
+        // escaped, not ASCII or crossing end of window
+        pos = start;
+        return readString(quote);
+    }
+
+    @Override
+    protected String readWord() throws IOException {
+        int start = pos;
+        while (pos < limit) {
+            if (isWordEnd(buf[pos]))
+                return new String(buf, start, pos - start, UTF_8);
+            pos++;
+        }
+        int len = append(start, pos - start, 0);
+        while (fill()) {
+            start = pos;
+            while (pos < limit && !isWordEnd(buf[pos]))
+                pos++;
+            len = append(start, pos - start, len);
+            if (pos < limit)
+                break;
+        }
+        return new String(scratch, 0, len, UTF_8);
+    }
+
+    @Override
+    protected int readScalar() throws IOException {
+        if (NumberScanner.isStart(buf[pos]))
+            return readNumber();
+        int start = pos;
+        while (pos < limit) {
+            if (isWordEnd(buf[pos])) {
+                int t = literal(buf, start, pos - start);
+                if (t == SCALAR)
+                    text = new String(buf, start, pos - start, UTF_8);
+                return t;
+            }
+            pos++;
+        }
+        // word crosses end of window
+        pos = start;
+        return literal(readWord());
+    }
+
+    @Override
+    protected void skipString(int quote) throws IOException {
+        boolean escaped = false;
+        do {
+            while (pos < limit) {
+                byte c = buf[pos++];
+                if (escaped)
+                    escaped = false;
+                else if (c == ESCAPE_CHAR)
+                    escaped = true;
+                else if (c == quote)
+                    return;
+            }
+        } while (fill());
+        throw endOfInput();
+    }
+
+    @Override
+    protected void skipWord() throws IOException {
+        do {
+            while (pos < limit) {
+                if (isWordEnd(buf[pos]))
+                    return;
+                pos++;
+            }
+        } while (fill());
+    }
+
+    @Override
+    public long getOffset() { return offset + pos; }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null)
+            in.close();
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        in = null;
+        buf = null;
+        pos = limit = 0;
+        if (scratch.length > BUFFER_SIZE)
+            scratch = new byte[256];
+    }
+
+    private int readNumber() throws IOException {
+        NumberScanner n = number;
+        n.reset();
+        do {
+            while (pos < limit) {
+                byte c = buf[pos];
+                if (!n.accept(c)) {
+                    if (isWordEnd(c))
+                        return finishNumber();
+                    // starts as number, but it isn't, e.g. 12ab
+                    text = n.text() + readWord();
+                    return SCALAR;
+                }
+                pos++;
+            }
+        } while (fill());
+        return finishNumber();
+    }
+
+    protected boolean fill() throws IOException {
+        if (in == null)
+            return false;
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        } while (n == 0);
+        offset += limit;
+        pos = 0;
+        limit = n < 0 ? 0 : n;
+        if (offset == 0)
+            skipBom();
+        return n > 0;
+    }
+
+    protected void skipBom() {
+        if (limit - pos >= 3 && buf[pos] == (byte) 0xEF && buf[pos + 1] == (byte) 0xBB && buf[pos + 2] == (byte) 0xBF)
+            pos += 3;
+    }
+
+    private int append(int start, int n, int len) {
+        if (len + n > scratch.length) {
+            byte[] grown = new byte[Math.max(scratch.length * 2, len + n)];
+            System.arraycopy(scratch, 0, grown, 0, len);
+            scratch = grown;
+        }
+        System.arraycopy(buf, start, scratch, len, n);
+        return len + n;
+    }
+}
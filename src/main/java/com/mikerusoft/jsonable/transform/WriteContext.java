@@ -0,0 +1,90 @@
+package com.mikerusoft.jsonable.transform;
+
+import com.mikerusoft.jsonable.utils.ConfInfo;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Groups and {@link ConfInfo} values of single write, resolved once when write starts and passed down to nested
+ * values, instead of reading ConfInfo for every object. Equal contexts are shared and keep {@link WritePlan}s
+ * of classes written with them, so plan of object is found by single lookup by its class.
+ * @since 10/18/2026.
+ */
+final class WriteContext {
+
+    // different groups and configurations are few, map is cleared if it grows over this anyway
+    private static final int MAX_CONTEXTS = 256;
+    private static final String[] NO_GROUPS = new String[0];
+
+    private static final ConcurrentMap<WriteContext, WriteContext> contexts = new ConcurrentHashMap<>();
+
+    final String[] groups;
+    final boolean includeNull;
+    final boolean excludeClass;
+    final String classProperty;
+    private final Map<Class<?>, WritePlan> plans = new ConcurrentHashMap<>();
+
+    private WriteContext(String[] groups, boolean includeNull, boolean excludeClass, String classProperty) {
+        this.groups = groups;
+        this.includeNull = includeNull;
+        this.excludeClass = excludeClass;
+        this.classProperty = classProperty;
+    }
+
+    /**
+     * @param groups groups of current write
+     * @return context of groups and current {@link ConfInfo}
+     */
+    static WriteContext of(String[] groups) {
+        if (groups == null)
+            groups = NO_GROUPS;
+        boolean includeNull = ConfInfo.isIncludeNull();
+        boolean excludeClass = ConfInfo.isExcludeClass();
+        String classProperty = ConfInfo.getClassProperty();
+        WriteContext shared = contexts.get(new WriteContext(groups, includeNull, excludeClass, classProperty));
+        if (shared != null)
+            return shared;
+        if (contexts.size() >= MAX_CONTEXTS)
+            contexts.clear();
+        // groups could be changed by caller after write
+        WriteContext context = new WriteContext(groups.clone(), includeNull, excludeClass, classProperty);
+        shared = contexts.putIfAbsent(context, context);
+        return shared == null ? context : shared;
+    }
+
+    /**
+     * @param clazz class of object to write
+     * @return plan of class for this context
+     */
+    WritePlan plan(Class<?> clazz) {
+        WritePlan plan = plans.get(clazz);
+        if (plan == null) {
+            // plan built concurrently by other thread is the same, either one is kept
+            plan = new WritePlan(clazz, this);
+            plans.put(clazz, plan);
+        }
+        return plan;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof WriteContext))
+            return false;
+        WriteContext c = (WriteContext) o;
+        return includeNull == c.includeNull && excludeClass == c.excludeClass &&
+            classProperty.equals(c.classProperty) && Arrays.equals(groups, c.groups);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(groups);
+        result = 31 * result + (includeNull ? 1 : 0);
+        result = 31 * result + (excludeClass ? 1 : 0);
+        return 31 * result + classProperty.hashCode();
+    }
+}
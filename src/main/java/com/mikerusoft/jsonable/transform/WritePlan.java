@@ -0,0 +1,89 @@
+package com.mikerusoft.jsonable.transform;
+
+import com.mikerusoft.jsonable.annotations.DisplayNull;
+import com.mikerusoft.jsonable.refelection.Invoker;
+import com.mikerusoft.jsonable.refelection.ReflectionCache;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything {@link JsonDefinedTransformer} needs to write object of some class, resolved once per class and
+ * {@link WriteContext}: properties in group with their ready to write "name": prefix (also as UTF-8 bytes),
+ * null policy and transformer of final type, and class tag. So writing object only reads properties and writes values.
+ * @since 10/18/2026.
+ */
+final class WritePlan {
+
+    final Property[] properties;
+    // ,"class":"name" or null, if class is excluded
+    final String classTag;
+
+    WritePlan(Class<?> clazz, WriteContext context) {
+        List<Property> properties = new ArrayList<>();
+        for (Invoker i : ReflectionCache.get().getInvokers(clazz)) {
+            if (i.getEnabled() && ReflectionCache.inGroup(i.getSetterGroups(), context.groups))
+                properties.add(new Property(i, context.includeNull || displayNullField(i)));
+        }
+        this.properties = properties.toArray(new Property[properties.size()]);
+        this.classTag = context.excludeClass ? null : ",\"" + context.classProperty + "\":\"" + clazz.getName() + "\"";
+    }
+
+    private static boolean displayNullField(Invoker ao) {
+        DisplayNull dn = ao.getGetterAnnotation(DisplayNull.class);
+        return dn != null && dn.value();
+    }
+
+    static final class Property {
+        private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+        final Invoker invoker;
+        // "name": - name is written as is, as it always was
+        final String prefix;
+        // prefix encoded once, for outputters writing UTF-8
+        final byte[] prefixBytes;
+        final boolean writeNull;
+        // transformer of last written value class, property values are usually of the same class.
+        // Property of final type has values of the single class, so its transformer is resolved ahead
+        private Resolved resolved;
+
+        private Property(Invoker invoker, boolean writeNull) {
+            this.invoker = invoker;
+            this.prefix = "\"" + invoker.getGetterName() + "\":";
+            this.prefixBytes = prefix.getBytes(UTF_8);
+            this.writeNull = writeNull;
+            Class<?> type = ClassUtils.primitiveToWrapper(invoker.getGetterType());
+            if (type != null && Modifier.isFinal(type.getModifiers()))
+                this.resolved = new Resolved(type, TransformerFactory.get(type));
+        }
+
+        /**
+         * @param value value of property
+         * @return the same Transformer as {@link TransformerFactory#get(Object)} returns
+         */
+        Transformer transformer(Object value) {
+            if (value == null)
+                return TransformerFactory.Null;
+            Resolved r = resolved;
+            if (r != null && r.type == value.getClass())
+                return r.transformer;
+            Transformer transformer = TransformerFactory.get(value);
+            resolved = new Resolved(value.getClass(), transformer);
+            return transformer;
+        }
+    }
+
+    // immutable, so it's safely shared between threads without synchronization
+    private static final class Resolved {
+        final Class<?> type;
+        final Transformer transformer;
+
+        private Resolved(Class<?> type, Transformer transformer) {
+            this.type = type;
+            this.transformer = transformer;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.mikerusoft.jsonable.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outputter, which encodes fragments straight into reusable byte buffer and writes it to stream only when it's full
+ * or on {@link #flush()}, instead of creating byte[] and calling stream for every fragment. UTF-8 is encoded
+ * by hand, other charsets by single {@link CharsetEncoder}. Buffers are taken from small lock free pool
+ * and returned there by {@link #release()}. Numbers are written as UTF-8 digits straight into the buffer.
+ * Output may go to {@link ByteBuffer} instead of stream.
+ * @since 10/18/2026.
+ */
+public class BufferedOutputter implements PrimitiveOutputter {
+
+    public static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_POOLED = 64;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ConcurrentLinkedQueue<byte[]> pool = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooled = new AtomicInteger();
+
+    private final OutputStream out;
+    private final ByteBuffer target;
+    private final boolean utf8;
+    private final CharsetEncoder encoder;
+    private byte[] buf;
+    private ByteBuffer bytes;
+    private int size = 0;
+
+    public BufferedOutputter(OutputStream out, Charset charset) {
+        this(out, null, charset);
+    }
+
+    /**
+     * Outputter, which writes UTF-8 into buffer
+     * @param target buffer to write into, {@link java.nio.BufferOverflowException} is thrown on flush, if it's too small
+     */
+    public BufferedOutputter(ByteBuffer target) {
+        this(null, target, UTF_8);
+    }
+
+    private BufferedOutputter(OutputStream out, ByteBuffer target, Charset charset) {
+        this.out = out;
+        this.target = target;
+        this.utf8 = UTF_8.equals(charset);
+        // same replacement as String.getBytes does
+        this.encoder = utf8 ? null : charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buf = acquire();
+    }
+
+    @Override
+    public void write(String data) throws IOException {
+        write(data, 0, data.length());
+    }
+
+    @Override
+    public void write(char c) throws IOException {
+        if (utf8 && c < 0x80) {
+            if (size == buf.length)
+                flush();
+            buf[size++] = (byte) c;
+        } else {
+            write(String.valueOf(c));
+        }
+    }
+
+    @Override
+    public void write(long l) throws IOException {
+        if (utf8) {
+            if (size + Digits.MAX_LENGTH > buf.length)
+                flush();
+            // digits are written at the end of free space and moved to their place
+            int end = size + Digits.MAX_LENGTH;
+            int start = Digits.getBytes(l, buf, end);
+            System.arraycopy(buf, start, buf, size, end - start);
+            size += end - start;
+        } else {
+            write(String.valueOf(l));
+        }
+    }
+
+    @Override
+    public void write(double d) throws IOException {
+        if (utf8) {
+            if (size + Digits.MAX_DOUBLE_LENGTH > buf.length)
+                flush();
+            int end = Digits.getBytes(d, buf, size);
+            if (end >= 0) {
+                size = end;
+                return;
+            }
+        }
+        write(String.valueOf(d));
+    }
+
+    @Override
+    public void write(CharSequence data, int start, int end) throws IOException {
+        if (utf8)
+            writeUtf8(data, start, end);
+        else
+            encode(data, start, end);
+    }
+
+    @Override
+    public void write(String data, byte[] encoded) throws IOException {
+        if (!utf8 || encoded.length > buf.length) {
+            write(data);
+            return;
+        }
+        if (size + encoded.length > buf.length)
+            flush();
+        System.arraycopy(encoded, 0, buf, size, encoded.length);
+        size += encoded.length;
+    }
+
+    /**
+     * Writes buffered bytes to stream (stream itself is not flushed)
+     * @throws IOException on failure writing to stream
+     */
+    public void flush() throws IOException {
+        if (size > 0 && target != null)
+            target.put(buf, 0, size);
+        else if (size > 0)
+            out.write(buf, 0, size);
+        size = 0;
+    }
+
+    /**
+     * Returns buffer to pool. Outputter shouldn't be used after release, not flushed data is lost
+     */
+    public void release() {
+        byte[] b = buf;
+        buf = null;
+        bytes = null;
+        if (b != null && pooled.incrementAndGet() <= MAX_POOLED)
+            pool.offer(b);
+        else if (b != null)
+            pooled.decrementAndGet();
+    }
+
+    private static byte[] acquire() {
+        byte[] b = pool.poll();
+        if (b == null)
+            return new byte[BUFFER_SIZE];
+        pooled.decrementAndGet();
+        return b;
+    }
+
+    private void writeUtf8(CharSequence data, int start, int end) throws IOException {
+        byte[] b = buf;
+        int n = size;
+        for (int i = start; i < end; i++) {
+            // 4 bytes is the longest sequence
+            if (n + 4 > b.length) {
+                size = n;
+                flush();
+                n = 0;
+            }
+            char c = data.charAt(i);
+            if (c < 0x80) {
+                b[n++] = (byte) c;
+            } else if (c < 0x800) {
+                b[n++] = (byte) (0xC0 | c >> 6);
+                b[n++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                int cp = Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(data.charAt(i + 1)) ?
+                    Character.toCodePoint(c, data.charAt(++i)) : -1;
+                if (cp < 0) {
+                    // unpaired surrogate, replaced as String.getBytes does
+                    b[n++] = '?';
+                } else {
+                    b[n++] = (byte) (0xF0 | cp >> 18);
+                    b[n++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                    b[n++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                    b[n++] = (byte) (0x80 | cp & 0x3F);
+                }
+            } else {
+                b[n++] = (byte) (0xE0 | c >> 12);
+                b[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+                b[n++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        size = n;
+    }
+
+    private void encode(CharSequence data, int start, int end) throws IOException {
+        if (bytes == null)
+            bytes = ByteBuffer.wrap(buf);
+        bytes.limit(buf.length).position(size);
+        CharBuffer chars = CharBuffer.wrap(data, start, end);
+        // every fragment is encoded separately, as String.getBytes does
+        encoder.reset();
+        while (encoder.encode(chars, bytes, true).isOverflow())
+            drain();
+        while (encoder.flush(bytes).isOverflow())
+            drain();
+        size = bytes.position();
+    }
+
+    private void drain() throws IOException {
+        size = bytes.position();
+        flush();
+        bytes.clear();
+    }
+}
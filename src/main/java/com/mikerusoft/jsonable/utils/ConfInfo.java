@@ -32,6 +32,7 @@ public class ConfInfo implements ContextData {
     private boolean includeNull = false;
     private boolean includePrimitiveClass = false;
     private boolean enumAsClass = false;
+    private boolean bindToClass = false;
     private Map<Class, ParserAdapter> classAdapters = new ConcurrentHashMap<>();
     private Map<String, Boolean> packageAdapters = new ConcurrentHashMap<>();
     private Map<String, String> properties = new ConcurrentHashMap<>();
@@ -45,6 +46,8 @@ public class ConfInfo implements ContextData {
     public static void setIncludeNull(boolean includeNull) { get().includeNull = includeNull; }
     public static boolean isEnumAsClass() { return get().enumAsClass; }
     public static void setEnumAsClass(boolean enumAsClass) { get().enumAsClass = enumAsClass; }
+    public static boolean isBindToClass() { return get().bindToClass; }
+    public static void setBindToClass(boolean bindToClass) { get().bindToClass = bindToClass; }
     public static boolean isIncludePrimitiveClass() { return get().includePrimitiveClass; }
     public static void setIncludePrimitiveClass(boolean includePrimitiveClass) { get().includePrimitiveClass = includePrimitiveClass; }
     public static ParserAdapter<?> getAdapter(Class<?> clazz) {
@@ -94,6 +97,8 @@ public class ConfInfo implements ContextData {
         return i;
     }
 
+    public static boolean hasFactory(Class<?> clazz) { return get().readFactories.containsKey(clazz); }
+
     public static void registerFactories(ReadInstanceFactory...factories) {
         if (factories == null)
             return;
@@ -15,6 +15,20 @@ public class ContextManager {
         return new Configuration();
     }
 
+    /**
+     * Sets configuration of current thread, e.g. in order to parse in worker thread with configuration of caller
+     * @param conf configuration to set, null removes configuration of current thread
+     * @return previous configuration of current thread or null
+     */
+    public static ConfInfo set(ConfInfo conf) {
+        ConfInfo previous = userThreadLocal.get();
+        if (conf == null)
+            userThreadLocal.remove();
+        else
+            userThreadLocal.set(conf);
+        return previous;
+    }
+
     public static void unset() {
         userThreadLocal.remove();
     }
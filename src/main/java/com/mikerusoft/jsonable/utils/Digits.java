@@ -0,0 +1,158 @@
+package com.mikerusoft.jsonable.utils;
+
+/**
+ * Writes decimal digits of numbers from the end of buffer, as {@link Long#toString(long)} does, but into
+ * reusable buffer. Digits are taken by pairs from lookup tables, so there is one division per 2 digits.
+ * Common doubles are written the same way, other doubles are left to {@link Double#toString(double)}.
+ * @since 10/18/2026.
+ */
+final class Digits {
+
+    // length of Long.MIN_VALUE
+    static final int MAX_LENGTH = 20;
+    // longest double written by getBytes(double...): -0.00 and 15 digits
+    static final int MAX_DOUBLE_LENGTH = 24;
+
+    private static final byte[] TENS = new byte[100];
+    private static final byte[] ONES = new byte[100];
+    static {
+        for (int i = 0; i < 100; i++) {
+            TENS[i] = (byte) ('0' + i / 10);
+            ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    // doubles with more digits may have several shortest representations, JDK chooses between them by itself
+    private static final int MAX_DOUBLE_DIGITS = 15;
+    private static final double MAX_UNSCALED = 1e15;
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private Digits() {}
+
+    /**
+     * @param l value to write
+     * @param buf buffer to write into
+     * @param end index after last digit
+     * @return index of first char
+     */
+    static int getChars(long l, char[] buf, int end) {
+        int i = end;
+        // negative values are used, so Long.MIN_VALUE doesn't overflow
+        long v = l < 0 ? l : -l;
+        while (v <= -100) {
+            long q = v / 100;
+            int r = (int) (q * 100 - v);
+            v = q;
+            buf[--i] = (char) ONES[r];
+            buf[--i] = (char) TENS[r];
+        }
+        int r = (int) -v;
+        buf[--i] = (char) ONES[r];
+        if (r >= 10)
+            buf[--i] = (char) TENS[r];
+        if (l < 0)
+            buf[--i] = '-';
+        return i;
+    }
+
+    /**
+     * Same as {@link #getChars(long, char[], int)} for ASCII bytes
+     */
+    static int getBytes(long l, byte[] buf, int end) {
+        int i = end;
+        long v = l < 0 ? l : -l;
+        while (v < Integer.MIN_VALUE) {
+            long q = v / 100;
+            int r = (int) (q * 100 - v);
+            v = q;
+            buf[--i] = ONES[r];
+            buf[--i] = TENS[r];
+        }
+        // rest fits int, which is divided faster
+        int iv = (int) v;
+        while (iv <= -100) {
+            int q = iv / 100;
+            int r = q * 100 - iv;
+            iv = q;
+            buf[--i] = ONES[r];
+            buf[--i] = TENS[r];
+        }
+        int r = -iv;
+        buf[--i] = ONES[r];
+        if (r >= 10)
+            buf[--i] = TENS[r];
+        if (l < 0)
+            buf[--i] = '-';
+        return i;
+    }
+
+    /**
+     * Writes double as ASCII bytes exactly as {@link Double#toString(double)} does, for values, which it prints
+     * without exponent (0 and 0.001 &lt;= |d| &lt; 10^7) and which have at most 15 significant digits - the most
+     * of numbers in practice. Such double has single shortest decimal m/10^k: smallest k, for which m/10^k
+     * rounds back to d. Both m and 10^k are exact doubles, so the check is exact. Other values aren't written.
+     * @param d value to write
+     * @param buf buffer to write into, at least {@link #MAX_DOUBLE_LENGTH} bytes from start
+     * @param start index to write first char
+     * @return index after last char or -1, if d should be written by {@link Double#toString(double)}
+     */
+    static int getBytes(double d, byte[] buf, int start) {
+        boolean negative = Double.doubleToRawLongBits(d) < 0;
+        double a = Math.abs(d);
+        int i = start;
+        if (a == 0) {
+            if (negative)
+                buf[i++] = '-';
+            buf[i++] = '0';
+            buf[i++] = '.';
+            buf[i++] = '0';
+            return i;
+        }
+        // also false for NaN
+        if (!(a >= 1e-3 && a < 1e7))
+            return -1;
+        // for a >= 0.001 digits after point are never more than 15 + 3
+        for (int k = 0; k < POW10.length; k++) {
+            double scaled = a * POW10[k];
+            if (scaled >= MAX_UNSCALED)
+                return -1;
+            long m = (long) (scaled + 0.5);
+            if (m / POW10[k] == a) {
+                if (negative)
+                    buf[i++] = '-';
+                return writeScaled(m, k, buf, i);
+            }
+        }
+        return -1;
+    }
+
+    // writes m/10^k with at least one digit before and after point
+    private static int writeScaled(long m, int k, byte[] buf, int i) {
+        if (k == 0) {
+            i = copy(m, buf, i);
+            buf[i++] = '.';
+            buf[i++] = '0';
+            return i;
+        }
+        long p = (long) POW10[k];
+        long integer = m / p;
+        long fraction = m - integer * p;
+        i = copy(integer, buf, i);
+        buf[i++] = '.';
+        // leading zeros of fraction
+        int end = i + k;
+        int first = getBytes(fraction, buf, end);
+        while (first > i)
+            buf[--first] = '0';
+        return end;
+    }
+
+    private static int copy(long l, byte[] buf, int i) {
+        int end = i + MAX_DOUBLE_DIGITS + 1;
+        int first = getBytes(l, buf, end);
+        System.arraycopy(buf, first, buf, i, end - first);
+        return i + end - first;
+    }
+}
@@ -2,14 +2,27 @@ package com.mikerusoft.jsonable.utils;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * @author Grinfeld Mikhail
  * @since 12/6/2014.
  */
-public class OutputStreamOutputter implements Outputter<String> {
+public class OutputStreamOutputter implements PrimitiveOutputter {
+    // charsets, which encode ASCII chars as single byte of the same value
+    private static final Set<String> ASCII_COMPATIBLE = new HashSet<>(Arrays.asList("UTF-8", "ISO-8859-1", "US-ASCII", "windows-1252"));
+
     OutputStream out;
     String charset = null;
+    // resolved once, not by name on every write
+    private Charset encoding = Charset.defaultCharset();
+    private boolean ascii = ASCII_COMPATIBLE.contains(encoding.name());
+    private boolean utf8 = "UTF-8".equals(encoding.name());
+    // ASCII text and digits are copied here and written to stream by single call
+    private final byte[] scratch = new byte[256];
 
     public OutputStreamOutputter(OutputStream out) {
         this.out = out;
@@ -18,13 +31,73 @@ public class OutputStreamOutputter implements Outputter<String> {
     public OutputStreamOutputter(OutputStream out, String charset) {
         this.out = out;
         this.charset = charset;
+        if (charset != null)
+            this.encoding = Charset.forName(charset);
+        this.ascii = ASCII_COMPATIBLE.contains(encoding.name());
+        this.utf8 = "UTF-8".equals(encoding.name());
     }
 
     @Override
     public void write(String data) throws IOException {
-        if (charset == null)
-            out.write(data.getBytes());
+        out.write(data.getBytes(encoding));
+    }
+
+    @Override
+    public void write(char c) throws IOException {
+        if (ascii && c < 0x80)
+            out.write(c);
+        else
+            write(String.valueOf(c));
+    }
+
+    @Override
+    public void write(long l) throws IOException {
+        if (ascii) {
+            int start = Digits.getBytes(l, scratch, Digits.MAX_LENGTH);
+            out.write(scratch, start, Digits.MAX_LENGTH - start);
+        } else {
+            write(String.valueOf(l));
+        }
+    }
+
+    @Override
+    public void write(double d) throws IOException {
+        int end = ascii ? Digits.getBytes(d, scratch, 0) : -1;
+        if (end >= 0)
+            out.write(scratch, 0, end);
+        else
+            write(String.valueOf(d));
+    }
+
+    @Override
+    public void write(CharSequence data, int start, int end) throws IOException {
+        if (!ascii) {
+            write(data.subSequence(start, end).toString());
+            return;
+        }
+        int i = start;
+        int n = 0;
+        char c;
+        while (i < end && (c = data.charAt(i)) < 0x80) {
+            if (n == scratch.length) {
+                out.write(scratch, 0, n);
+                n = 0;
+            }
+            scratch[n++] = (byte) c;
+            i++;
+        }
+        if (n > 0)
+            out.write(scratch, 0, n);
+        // rest is encoded by charset, starting from first not ASCII char
+        if (i < end)
+            write(data.subSequence(i, end).toString());
+    }
+
+    @Override
+    public void write(String data, byte[] encoded) throws IOException {
+        if (utf8)
+            out.write(encoded);
         else
-            out.write(data.getBytes(charset));
+            write(data);
     }
 }
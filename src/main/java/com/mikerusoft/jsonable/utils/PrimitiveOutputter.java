@@ -0,0 +1,36 @@
+package com.mikerusoft.jsonable.utils;
+
+import java.io.IOException;
+
+/**
+ * {@link Outputter} which writes chars, numbers and parts of text without creating intermediate Strings.
+ * Output is always the same as writing String.valueOf of the value. Transformers check for this interface
+ * and fall back to {@link #write(Object)} for other outputters.
+ * @since 10/18/2026.
+ */
+public interface PrimitiveOutputter extends Outputter<String> {
+
+    public void write(char c) throws IOException;
+
+    public void write(long l) throws IOException;
+
+    public void write(double d) throws IOException;
+
+    /**
+     * Writes part of text
+     * @param data text to write from
+     * @param start index of first char to write
+     * @param end index after last char to write
+     * @throws IOException on writing output failure
+     */
+    public void write(CharSequence data, int start, int end) throws IOException;
+
+    /**
+     * Writes text, which UTF-8 encoding is already known, e.g. prepared once per property name.
+     * Outputters writing UTF-8 copy the bytes instead of encoding text again
+     * @param data text to write
+     * @param encoded UTF-8 bytes of data
+     * @throws IOException on writing output failure
+     */
+    public void write(String data, byte[] encoded) throws IOException;
+}
@@ -4,7 +4,7 @@ package com.mikerusoft.jsonable.utils;
  * @author Grinfeld Mikhail
  * @since 12/6/2014.
  */
-public class StringBuilderOutputter implements Outputter<String> {
+public class StringBuilderOutputter implements PrimitiveOutputter {
     StringBuilder out;
 
     public StringBuilderOutputter(StringBuilder out) {
@@ -15,4 +15,29 @@ public class StringBuilderOutputter implements Outputter<String> {
     public void write(String data) {
         out.append(data);
     }
+
+    @Override
+    public void write(char c) {
+        out.append(c);
+    }
+
+    @Override
+    public void write(long l) {
+        out.append(l);
+    }
+
+    @Override
+    public void write(double d) {
+        out.append(d);
+    }
+
+    @Override
+    public void write(CharSequence data, int start, int end) {
+        out.append(data, start, end);
+    }
+
+    @Override
+    public void write(String data, byte[] encoded) {
+        out.append(data);
+    }
 }
@@ -3,8 +3,9 @@ package com.mikerusoft.jsonable.utils;
 import java.io.IOException;
 import java.io.Writer;
 
-public class WriterOutputter implements Outputter<String> {
+public class WriterOutputter implements PrimitiveOutputter {
     Writer writer;
+    private final char[] digits = new char[Digits.MAX_LENGTH];
 
     public WriterOutputter(Writer writer) {
         this.writer = writer;
@@ -14,4 +15,33 @@ public class WriterOutputter implements Outputter<String> {
     public void write(String data) throws IOException {
         writer.write(data);
     }
+
+    @Override
+    public void write(char c) throws IOException {
+        writer.write(c);
+    }
+
+    @Override
+    public void write(long l) throws IOException {
+        int start = Digits.getChars(l, digits, digits.length);
+        writer.write(digits, start, digits.length - start);
+    }
+
+    @Override
+    public void write(double d) throws IOException {
+        writer.write(String.valueOf(d));
+    }
+
+    @Override
+    public void write(CharSequence data, int start, int end) throws IOException {
+        if (data instanceof String)
+            writer.write((String) data, start, end - start);
+        else
+            writer.append(data, start, end);
+    }
+
+    @Override
+    public void write(String data, byte[] encoded) throws IOException {
+        writer.write(data);
+    }
 }
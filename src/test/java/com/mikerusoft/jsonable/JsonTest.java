@@ -3,11 +3,21 @@ package com.mikerusoft.jsonable;
 import com.mikerusoft.jsonable.adapters.ReadInstanceFactory;
 import com.mikerusoft.jsonable.adapters.SimpleBeanAdapter;
 import com.mikerusoft.jsonable.annotations.*;
+import com.mikerusoft.jsonable.parser.JsonIterator;
+import com.mikerusoft.jsonable.parser.JsonLinesIterator;
 import com.mikerusoft.jsonable.parser.JsonReader;
+import com.mikerusoft.jsonable.parser.JsonToken;
+import com.mikerusoft.jsonable.parser.JsonTokenReader;
 import com.mikerusoft.jsonable.parser.JsonWriter;
+import com.mikerusoft.jsonable.parser.ObjectReader;
 import com.mikerusoft.jsonable.transform.DateTransformer;
+import com.mikerusoft.jsonable.transform.JsonTape;
+import com.mikerusoft.jsonable.transform.NonBlockingJsonParser;
+import com.mikerusoft.jsonable.utils.BufferedOutputter;
 import com.mikerusoft.jsonable.utils.ConfInfo;
 import com.mikerusoft.jsonable.utils.Configuration;
+import com.mikerusoft.jsonable.utils.OutputStreamOutputter;
+import com.mikerusoft.jsonable.utils.Outputter;
 import com.mikerusoft.jsonable.utils.PropertyPair;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Assert;
@@ -17,6 +27,13 @@ import org.junit.Test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -223,6 +240,48 @@ public class JsonTest {
         }
     }
 
+    @JsonClass
+    public static class BindObj {
+        @JsonField String name;
+        @JsonField SimpleObjAnnot inner;
+        @JsonField List<SimpleObjAnnot> items;
+        @JsonField SimpleObjAnnot[] array;
+    }
+
+    @JsonClass
+    public static class PrimitiveArraysObj {
+        @JsonField long[] longs;
+        @JsonField double[] doubles;
+        @JsonField int[] ints;
+        @JsonField float[] floats;
+        @JsonField byte[] bytes;
+    }
+
+    @JsonClass
+    public static class AccessorsObj {
+        @JsonField private float f;
+        @JsonField private boolean b;
+        @JsonField short s;
+        @JsonField private final String fin = new String("initial");
+        private int hidden;
+
+        @CustomField(name = "hidden") private int getHidden() { return hidden; }
+        @CustomField(name = "hidden") private void setHidden(int hidden) { this.hidden = hidden; }
+    }
+
+    @JsonClass
+    public static class FailingGetterObj {
+        @CustomField(name = "x") public String getX() { throw new IllegalStateException("x"); }
+    }
+
+    @JsonClass
+    public static class FinalTypesObj {
+        @JsonField(name = "név") String name;
+        @JsonField int count;
+        @JsonField Long total;
+        @JsonField Object any;
+    }
+
     public enum TestEnum {
         Hello
     }
@@ -1052,6 +1111,878 @@ public class JsonTest {
         Assert.assertEquals("NewValue", ((SimpleObjAnnotExtend)soa).extended);
     }
 
+    @Test
+    public void largeInputStreamTest() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            value.append("chunk").append(i).append(' ');
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id", (long) i);
+            m.put("text", value.toString() + i);
+            m.put("path", "c:\\dir\\");
+            list.add(m);
+        }
+        JsonWriter.write(list, sb);
+        List<?> result = (List<?>) JsonReader.read(new ByteArrayInputStream(sb.toString().getBytes("UTF-8")));
+        Assert.assertEquals(list, result);
+    }
+
+    @Test
+    public void utf8InputStreamTest() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 7000; i++)
+            value.append("שלום").append(i);
+        Map<String, Object> m = new HashMap<>();
+        m.put("ключ", value.toString());
+        m.put("flag", false);
+        JsonWriter.write(m, sb);
+        byte[] bytes = sb.toString().getBytes("UTF-8");
+        Assert.assertEquals(m, JsonReader.read(new ByteArrayInputStream(bytes), Charset.forName("UTF-8")));
+
+        byte[] withBom = new byte[bytes.length + 3];
+        withBom[0] = (byte) 0xEF; withBom[1] = (byte) 0xBB; withBom[2] = (byte) 0xBF;
+        System.arraycopy(bytes, 0, withBom, 3, bytes.length);
+        Assert.assertEquals(m, JsonReader.read(new ByteArrayInputStream(withBom), Charset.forName("UTF-8"), Map.class));
+
+        bytes = sb.toString().getBytes("UTF-16");
+        Assert.assertEquals(m, JsonReader.read(new ByteArrayInputStream(bytes), Charset.forName("UTF-16")));
+    }
+
+    @Test
+    public void tokenReaderTest() throws Exception {
+        String json = "{\"id\": 12, \"skip\": {\"a\": [1, \"x}\", {\"b\": null}]}, \"rate\": -1.5, \"name\": \"Hello\", \"ok\": true, \"none\": null}";
+        try (JsonTokenReader tokens = JsonReader.tokens(new ByteArrayInputStream(json.getBytes("UTF-8")), Charset.forName("UTF-8"))) {
+            assertEquals(JsonToken.START_OBJECT, tokens.next());
+            assertEquals(JsonToken.FIELD_NAME, tokens.next());
+            assertEquals("id", tokens.getFieldName());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, tokens.next());
+            assertEquals(12L, tokens.getLong());
+            assertEquals(JsonToken.FIELD_NAME, tokens.next());
+            assertEquals(JsonToken.START_OBJECT, tokens.next());
+            assertEquals(1, tokens.getDepth());
+            tokens.skipChildren();
+            assertEquals(JsonToken.END_OBJECT, tokens.currentToken());
+            assertEquals(JsonToken.FIELD_NAME, tokens.next());
+            assertEquals(JsonToken.VALUE_NUMBER_FLOAT, tokens.next());
+            assertEquals(-1.5, tokens.getDouble(), 0);
+            assertEquals(JsonToken.FIELD_NAME, tokens.next());
+            assertEquals(JsonToken.VALUE_STRING, tokens.next());
+            assertEquals("Hello", tokens.getString());
+            assertEquals(JsonToken.FIELD_NAME, tokens.next());
+            assertEquals(JsonToken.VALUE_TRUE, tokens.next());
+            assertTrue(tokens.getBoolean());
+            assertEquals(JsonToken.FIELD_NAME, tokens.next());
+            assertEquals(JsonToken.VALUE_NULL, tokens.next());
+            assertNull(tokens.getString());
+            assertEquals(JsonToken.END_OBJECT, tokens.next());
+            assertNull(tokens.next());
+        }
+    }
+
+    @Test
+    public void streamArrayTest() throws Exception {
+        List<SimpleObjAnnot> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SimpleObjAnnot o = new SimpleObjAnnot();
+            o.str1 = "str" + i;
+            o.num = i;
+            list.add(o);
+        }
+        JsonWriter.write(list, sb);
+        int count = 0;
+        try (JsonIterator<SimpleObjAnnot> it = JsonReader.stream(new ByteArrayInputStream(sb.toString().getBytes("UTF-8")), SimpleObjAnnot.class)) {
+            for (SimpleObjAnnot o : it) {
+                assertEquals(list.get(count), o);
+                count++;
+            }
+        }
+        assertEquals(list.size(), count);
+
+        try (JsonIterator<Object> it = JsonReader.stream(new StringReader("[]"), Object.class)) {
+            assertFalse(it.hasNext());
+        }
+        try (JsonIterator<Object> it = JsonReader.stream(new StringReader("{\"a\": 1}"), Object.class)) {
+            assertTrue(it.hasNext());
+            assertEquals(1L, ((Map) it.next()).get("a"));
+            assertFalse(it.hasNext());
+        }
+    }
+
+    @Test
+    public void numbersTest() throws Exception {
+        List l = JsonReader.read("[10, -7, +3, 1.5, -.25, 5., 1e3, 2.5E-2, 9223372036854775807, -9223372036854775808, " +
+            "92233720368547758070, 0.12345678901234567890, 1.50000000000000000000, 1e400, -1e-400, TRUE, false, null, 12ab, -]", List.class);
+        // decimals are doubles, as before, and only out of double range are promoted
+        assertEquals(Arrays.<Object>asList(10L, -7L, 3L, 1.5, -0.25, 5.0, 1000.0, 0.025, Long.MAX_VALUE, Long.MIN_VALUE,
+            new java.math.BigInteger("92233720368547758070"), 0.12345678901234568, 1.5,
+            new java.math.BigDecimal("1e400"), new java.math.BigDecimal("-1e-400"), true, false, "", "12ab", "-"), l);
+
+        byte[] bytes = "[0.1, 123456789.98765432, 3.141592653589793, 1.7976931348623157E308, 4.9E-324]".getBytes("UTF-8");
+        assertEquals(Arrays.<Object>asList(0.1, 123456789.98765432, 3.141592653589793, Double.MAX_VALUE, Double.MIN_VALUE),
+            JsonReader.read(new ByteArrayInputStream(bytes), Charset.forName("UTF-8"), List.class));
+    }
+
+    @Test
+    public void bindToClassTest() throws Exception {
+        BindObj b = new BindObj();
+        b.name = "bind";
+        b.inner = new SimpleObjAnnot();
+        b.inner.str1 = "inner";
+        b.inner.num = 1;
+        b.items = new ArrayList<>();
+        b.array = new SimpleObjAnnot[2];
+        for (int i = 0; i < 2; i++) {
+            SimpleObjAnnot o = new SimpleObjAnnot();
+            o.str1 = "item" + i;
+            o.num = i;
+            b.items.add(o);
+            b.array[i] = o;
+        }
+        ConfInfo.setExcludeClass(true);
+        JsonWriter.write(b, sb);
+        String json = "{\"unknown\":{\"a\":[1,2]}," + sb.substring(1);
+        BindObj read = JsonReader.read(json, BindObj.class);
+        assertEquals("bind", read.name);
+        assertEquals(b.inner, read.inner);
+        assertEquals(b.items, read.items);
+        assertArrayEquals(b.array, read.array);
+        ConfInfo.setExcludeClass(false);
+
+        ConfInfo.setBindToClass(true);
+        SimpleObjAnnot extended = JsonReader.read("{\"class\":\"" + SimpleObjAnnotExtend.class.getName() +
+            "\",\"str\":\"Hello\",\"extended\":\"ext\"}", SimpleObjAnnot.class);
+        assertTrue(extended instanceof SimpleObjAnnotExtend);
+        assertEquals("ext", ((SimpleObjAnnotExtend) extended).extended);
+        assertEquals("Hello", extended.str1);
+    }
+
+    @Test
+    public void mappedFileTest() throws Exception {
+        List<SimpleObjAnnot> list = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            SimpleObjAnnot o = new SimpleObjAnnot();
+            o.str1 = "שלום " + i;
+            o.num = i;
+            list.add(o);
+        }
+        JsonWriter.write(list, sb);
+        java.io.File file = java.io.File.createTempFile("json", ".json");
+        file.deleteOnExit();
+        java.nio.file.Files.write(file.toPath(), sb.toString().getBytes("UTF-8"));
+
+        assertEquals(list, JsonReader.read(file.toPath(), List.class));
+        int count = 0;
+        try (JsonIterator<SimpleObjAnnot> it = JsonReader.stream(file.toPath(), SimpleObjAnnot.class)) {
+            for (SimpleObjAnnot o : it) {
+                assertEquals(list.get(count), o);
+                count++;
+            }
+        }
+        assertEquals(list.size(), count);
+    }
+
+    @Test
+    public void byteBufferTest() throws Exception {
+        byte[] bytes = "{\"name\": \"שלום עולם\", \"list\": [1, 2.5, true]}".getBytes("UTF-8");
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("name", "שלום עולם");
+        expected.put("list", Arrays.<Object>asList(1L, 2.5, true));
+
+        java.nio.ByteBuffer heap = java.nio.ByteBuffer.wrap(bytes);
+        assertEquals(expected, JsonReader.read(heap, Map.class));
+        assertEquals(0, heap.position());
+
+        java.nio.ByteBuffer direct = java.nio.ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(expected, JsonReader.read(direct, Map.class));
+
+        // split inside multi-byte character, mixing heap and direct buffers
+        for (int split = 1; split < bytes.length; split++) {
+            java.nio.ByteBuffer first = java.nio.ByteBuffer.allocateDirect(split);
+            first.put(bytes, 0, split).flip();
+            java.nio.ByteBuffer second = java.nio.ByteBuffer.wrap(bytes, split, bytes.length - split);
+            assertEquals(expected, JsonReader.read(new java.nio.ByteBuffer[] { first, second }, Map.class));
+        }
+
+        assertEquals(expected, JsonReader.read(java.nio.channels.Channels.newChannel(new ByteArrayInputStream(bytes)), Map.class));
+    }
+
+    @Test
+    public void jsonLinesTest() throws Exception {
+        ConfInfo.setExcludeClass(true);
+        List<SimpleObjAnnot> list = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            SimpleObjAnnot o = new SimpleObjAnnot();
+            o.str1 = "line " + i;
+            o.num = i;
+            list.add(o);
+            JsonWriter.write(o, sb);
+            sb.append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+        byte[] bytes = sb.toString().getBytes("UTF-8");
+
+        List<SimpleObjAnnot> read = new ArrayList<>();
+        try (JsonLinesIterator<SimpleObjAnnot> it = JsonReader.lines(new ByteArrayInputStream(bytes), SimpleObjAnnot.class)) {
+            for (SimpleObjAnnot o : it)
+                read.add(o);
+        }
+        assertEquals(list, read);
+
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+        try {
+            read.clear();
+            try (JsonLinesIterator<SimpleObjAnnot> it = JsonReader.lines(new ByteArrayInputStream(bytes), SimpleObjAnnot.class, executor, true)) {
+                for (SimpleObjAnnot o : it)
+                    read.add(o);
+            }
+            assertEquals(list, read);
+
+            Set<SimpleObjAnnot> unordered = new HashSet<>();
+            try (JsonLinesIterator<SimpleObjAnnot> it = JsonReader.lines(new ByteArrayInputStream(bytes), SimpleObjAnnot.class, executor, false)) {
+                for (SimpleObjAnnot o : it)
+                    unordered.add(o);
+            }
+            assertEquals(new HashSet<>(list), unordered);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelReadTest() throws Exception {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            SimpleObjAnnot o = new SimpleObjAnnot();
+            o.str1 = "[{\"escaped\\\" ,]}'" + i;
+            o.num = i;
+            list.add(i % 3 == 0 ? Arrays.asList(o, "x") : o);
+        }
+        JsonWriter.write(list, sb);
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            List<?> sequential = JsonReader.read(sb.toString(), List.class);
+            assertEquals(list.size(), sequential.size());
+            assertEquals(sequential, JsonReader.readParallel(sb.toString().getBytes("UTF-8"), Object.class, pool));
+            assertEquals(Collections.emptyList(), JsonReader.readParallel(" [ ] ".getBytes("UTF-8"), Object.class, pool));
+            assertEquals(Arrays.asList(1L, "a", true), JsonReader.readParallel("[1, 'a', true,]".getBytes("UTF-8"), Object.class, pool));
+            // apostrophe inside of unquoted word doesn't start a string
+            String lenient = "[it's, {'k': o'clock}, 'a,b', [don't], 'c']";
+            assertEquals(JsonReader.read(lenient, List.class), JsonReader.readParallel(lenient.getBytes("UTF-8"), Object.class, pool));
+            assertEquals(Collections.singletonList(Collections.singletonMap("a", 1L)),
+                JsonReader.readParallel("{\"a\": 1}".getBytes("UTF-8"), Object.class, pool));
+            // element with trailing data is rejected, as by sequential parsing
+            for (String invalid : new String[] {"[{\"a\":1} x, 2]", "[1 2, 3]", "[[1] [2]]"}) {
+                try {
+                    JsonReader.read(invalid, List.class);
+                    fail("Expected exception on " + invalid);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+                try {
+                    JsonReader.readParallel(invalid.getBytes("UTF-8"), Object.class, pool);
+                    fail("Expected parallel exception on " + invalid);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void extractTest() throws Exception {
+        String json = "{\"skip\": {\"deep\": [1, {\"a\": \"b\"}]}, \"header\": {\"tenantId\": 42, \"a/b\": \"slash\"}, " +
+            "\"items\": [{\"sku\": \"A1\", \"qty\": 1}, {\"qty\": 2}, {\"sku\": \"C3\"}], \"tail\": [true]}";
+        Map<String, Object> values = JsonReader.extract(json, "/header/tenantId", "/items/*/sku", "/items/1", "/header/a~1b", "/missing");
+        assertEquals(42L, values.get("/header/tenantId"));
+        assertEquals(Arrays.asList("A1", "C3"), values.get("/items/*/sku"));
+        assertEquals(Collections.singletonMap("qty", 2L), values.get("/items/1"));
+        assertEquals("slash", values.get("/header/a~1b"));
+        assertFalse(values.containsKey("/missing"));
+
+        final boolean[] closed = {false};
+        InputStream in = new ByteArrayInputStream(json.getBytes("UTF-8")) {
+            @Override
+            public void close() { closed[0] = true; }
+        };
+        values = JsonReader.extract(in, "/tail/0", "/tail", "/skip/deep/1/a");
+        assertEquals(true, values.get("/tail/0"));
+        assertEquals(Collections.singletonList(true), values.get("/tail"));
+        assertEquals("b", values.get("/skip/deep/1/a"));
+        // stream belongs to caller, as for other read methods
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    public void bindGroupsTest() throws Exception {
+        ConfInfo.setBindToClass(true);
+        // str belongs to "mygroup" only, so for other groups its value isn't parsed (and can't fail conversion)
+        String json = "{\"str\": {\"not\": [\"a\", \"string\"]}, \"num\": 5}";
+        SimpleObjAnnot o = JsonReader.read(json, SimpleObjAnnot.class, "other");
+        assertNull(o.str1);
+        assertEquals(5, o.num);
+
+        o = JsonReader.read("{\"str\": \"Hello\", \"num\": 5}", SimpleObjAnnot.class, "mygroup");
+        assertEquals("Hello", o.str1);
+        assertEquals(5, o.num);
+    }
+
+    @Test
+    public void nonBlockingParserTest() throws Exception {
+        String first = "{\"name\": \"שלום \\\"q\\\"\", \"list\": [1, -2.5, true, null, 12345678901234567890], " +
+            "\"inner\": {\"a\": []}}";
+        byte[] json = (first + " [\"second\"] 42").getBytes("UTF-8");
+        NonBlockingJsonParser parser = new NonBlockingJsonParser();
+        List<Object> values = new ArrayList<>();
+        // worst case for state machine: one byte at a time
+        for (int i = 0; i < json.length; i++) {
+            parser.feed(json, i, 1);
+            int status;
+            while ((status = parser.next()) == NonBlockingJsonParser.VALUE)
+                values.add(parser.getValue());
+            assertEquals(NonBlockingJsonParser.NEED_MORE_INPUT, status);
+        }
+        parser.endOfInput();
+        assertEquals(NonBlockingJsonParser.VALUE, parser.next());
+        values.add(parser.getValue());
+        assertEquals(NonBlockingJsonParser.EOF, parser.next());
+
+        assertEquals(3, values.size());
+        Map<?, ?> m = (Map<?, ?>) values.get(0);
+        assertEquals("שלום \"q\"", m.get("name"));
+        assertEquals(Arrays.asList(1L, -2.5, true, "", new java.math.BigInteger("12345678901234567890")), m.get("list"));
+        assertEquals(Collections.singletonMap("a", Collections.emptyList()), m.get("inner"));
+        assertEquals(Collections.singletonList("second"), values.get(1));
+        assertEquals(42L, values.get(2));
+        assertEquals(JsonReader.read(first, Map.class), m);
+
+        // long string grows scratch over chunks, it's shrunk back after the value and next values are still read
+        String longString = StringUtils.repeat("x", 20000);
+        byte[] chunked = ("\"" + longString + "\" \"short\" [\"" + longString + "\"]").getBytes("UTF-8");
+        parser = new NonBlockingJsonParser();
+        values.clear();
+        for (int i = 0; i < chunked.length; i += 1000) {
+            parser.feed(chunked, i, Math.min(1000, chunked.length - i));
+            while (parser.next() == NonBlockingJsonParser.VALUE)
+                values.add(parser.getValue());
+        }
+        parser.endOfInput();
+        assertEquals(NonBlockingJsonParser.EOF, parser.next());
+        assertEquals(Arrays.asList(longString, "short", Collections.singletonList(longString)), values);
+
+        parser = new NonBlockingJsonParser();
+        parser.feed("{\"a\": 1".getBytes("UTF-8"), 0, 7);
+        assertEquals(NonBlockingJsonParser.NEED_MORE_INPUT, parser.next());
+        byte[] broken = "}}".getBytes("UTF-8");
+        parser.feed(broken, 0, broken.length);
+        assertEquals(NonBlockingJsonParser.VALUE, parser.next());
+        try {
+            parser.next();
+            fail("Expected exception on unbalanced '}'");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void objectReaderTest() throws Exception {
+        ObjectReader reader = new ObjectReader();
+        try {
+            reader.read("{\"broken\": [1, 2", Map.class);
+            fail("Expected exception on broken JSON");
+        } catch (IllegalArgumentException e) {
+            // expected, reader should still be usable
+        }
+        for (int i = 0; i < 3; i++) {
+            Map<?, ?> m = reader.read("{\"a\": [" + i + "], \"b\": \"x\"}", Map.class);
+            assertEquals(Collections.singletonList((long) i), m.get("a"));
+            byte[] json = ("[{\"str\": \"Hello\", \"num\": " + i + "}]").getBytes("UTF-8");
+            assertEquals(1, reader.read(json, 0, json.length, List.class).size());
+            assertEquals(JsonReader.read(new ByteArrayInputStream(json), List.class), reader.read(new ByteArrayInputStream(json), List.class));
+            assertEquals(JsonReader.read(new String(json, "UTF-8"), List.class), reader.read(new StringReader(new String(json, "UTF-8")), List.class));
+        }
+
+        // first String is shorter than window, the next one is longer and has long escaped value
+        reader = new ObjectReader();
+        assertEquals(Collections.singletonList(1L), reader.read("[1]", List.class));
+        String large = StringUtils.repeat("x\\\"", 20000);
+        String unescaped = StringUtils.repeat("x\"", 20000);
+        List<?> list = reader.read("[\"" + large + "\", 2]", List.class);
+        assertEquals(Arrays.asList(unescaped, 2L), list);
+        byte[] bytes = ("[\"" + large + "\"]").getBytes("UTF-8");
+        assertEquals(Collections.singletonList(unescaped), reader.read(bytes, 0, bytes.length, List.class));
+        assertEquals(Collections.singletonList(3L), reader.read("[3]", List.class));
+        assertEquals(Collections.singletonList(4L), reader.read("[4]".getBytes("UTF-8"), 0, 3, List.class));
+
+        ConfInfo.setBindToClass(true);
+        String json = "{\"str\": \"Hello\", \"num\": 7}";
+        ObjectReader.Pool pool = new ObjectReader.Pool(2, "other");
+        ObjectReader first = pool.acquire();
+        pool.release(first);
+        assertSame(first, pool.acquire());
+        pool.release(first);
+        SimpleObjAnnot read = pool.read(json, SimpleObjAnnot.class);
+        assertNull(read.str1);
+        assertEquals(7, read.num);
+    }
+
+    @Test
+    public void stringEscapesTest() throws Exception {
+        String[] values = {"plain", "", "tab\\there", "quote \\\"q\\\" and \\\\ slash\\/", "\\u0041\\u00e9\\uD83D\\uDE00 ok",
+            "unknown \\x escape", "\\u05e9\\u05dc\\u05d5\\u05dd שלום", StringUtils.repeat("long \\n", 5000)};
+        for (String value : values) {
+            String expected = org.apache.commons.lang3.StringEscapeUtils.unescapeJson(value);
+            String json = "{\"key\\tk\": \"" + value + "\"}";
+            byte[] bytes = json.getBytes("UTF-8");
+            Map<String, Object> m = Collections.<String, Object>singletonMap("key\tk", expected);
+            assertEquals(m, JsonReader.read(json, Map.class));
+            assertEquals(m, new ObjectReader().read(new StringReader(json), Map.class));
+            assertEquals(m, JsonReader.read(new ByteArrayInputStream(bytes), Charset.forName("UTF-8"), Map.class));
+            NonBlockingJsonParser parser = new NonBlockingJsonParser();
+            parser.feed(bytes, 0, bytes.length);
+            assertEquals(NonBlockingJsonParser.VALUE, parser.next());
+            assertEquals(m, parser.getValue());
+        }
+
+        ConfInfo.setBindToClass(true);
+        // String field is unescaped only once, by parser
+        SimpleObjAnnot o = JsonReader.read("{\"str\": \"a\\\\nb\", \"num\": 1}", SimpleObjAnnot.class);
+        assertEquals("a\\nb", o.str1);
+
+        try {
+            JsonReader.read("[\"\\u00zz\"]", List.class);
+            fail("Expected exception on invalid unicode escape");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void canonicalKeysTest() throws Exception {
+        String json = "[{\"id\": 1, \"name\": \"a\", \"n\\u0061me2\": 1}, {\"id\": 2, \"name\": \"b\", \"n\\u0061me2\": 2}, {\"שם\": 3}, {\"שם\": 4}]";
+        for (List<?> list : Arrays.asList(JsonReader.read(json, List.class),
+                JsonReader.read(new ByteArrayInputStream(json.getBytes("UTF-8")), Charset.forName("UTF-8"), List.class))) {
+            assertEquals(4, list.size());
+            String id1 = keyOf((Map<?, ?>) list.get(0), "id");
+            String id2 = keyOf((Map<?, ?>) list.get(1), "id");
+            assertSame(id1, id2);
+            assertSame(keyOf((Map<?, ?>) list.get(0), "name"), keyOf((Map<?, ?>) list.get(1), "name"));
+            // escaped and not ASCII keys are decoded as usual
+            assertEquals(1L, ((Map<?, ?>) list.get(0)).get("name2"));
+            assertEquals(4L, ((Map<?, ?>) list.get(3)).get("שם"));
+        }
+    }
+
+    @Test
+    public void primitiveArraysTest() throws Exception {
+        StringBuilder doubles = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+            doubles.append(i == 0 ? "" : ", ").append(i / 4.0);
+        String json = "{\"longs\": [1, -2, 9007199254740993, \"4\", null], \"doubles\": [" + doubles + "], " +
+            "\"ints\": [], \"floats\": [1.5, 2]";
+        String className = PrimitiveArraysObj.class.getName();
+
+        ConfInfo.setBindToClass(true);
+        PrimitiveArraysObj o = JsonReader.read(json + "}", PrimitiveArraysObj.class);
+        assertArrayEquals(new long[] {1, -2, 9007199254740993L, 4, 0}, o.longs);
+        assertEquals(1000, o.doubles.length);
+        assertEquals(999 / 4.0, o.doubles[999], 0);
+        assertArrayEquals(new int[0], o.ints);
+        assertArrayEquals(new float[] {1.5f, 2f}, o.floats, 0);
+
+        // integral elements are neither truncated nor overflowed
+        o = JsonReader.read("{\"ints\": [1.0, 2e2, \"-3\"], \"bytes\": [-128, 127]}", PrimitiveArraysObj.class);
+        assertArrayEquals(new int[] {1, 200, -3}, o.ints);
+        assertArrayEquals(new byte[] {-128, 127}, o.bytes);
+        for (String invalid : new String[] {"{\"ints\": [3000000000]}", "{\"bytes\": [300]}", "{\"ints\": [1.7]}",
+                "{\"ints\": [\"1.7\"]}", "{\"longs\": [12345678901234567890]}"}) {
+            try {
+                JsonReader.read(invalid, PrimitiveArraysObj.class);
+                fail("Expected exception on " + invalid);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+
+        // without binding arrays are converted from parsed lists
+        ConfInfo.setBindToClass(false);
+        o = JsonReader.read(json + ", \"class\": \"" + className + "\"}", PrimitiveArraysObj.class);
+        assertArrayEquals(new long[] {1, -2, 9007199254740993L, 4, 0}, o.longs);
+        assertEquals(999 / 4.0, o.doubles[999], 0);
+        assertArrayEquals(new float[] {1.5f, 2f}, o.floats, 0);
+    }
+
+    @Test
+    public void compactTreeTest() throws Exception {
+        String json = "{\"name\": \"שלום \\\"q\\\"\", \"id\": 12, \"ratio\": 0.25, \"big\": 12345678901234567890, " +
+            "\"flags\": [true, false, null, \"null\"], \"nested\": {\"list\": [[], {}, [1, [2, 3]], 'single']}, " +
+            "\"quoted\": \"42\", bare: word}";
+        Object compact = JsonReader.readCompact(json);
+        assertTrue(compact instanceof JsonTape.MapView);
+        // views are equal to the tree built by regular untyped read
+        assertEquals(JsonReader.read(json, Map.class), compact);
+
+        JsonTape.MapView map = (JsonTape.MapView) compact;
+        assertEquals(8, map.size());
+        assertEquals(12L, map.getLong("id"));
+        assertEquals(0.25, map.getDouble("ratio"), 0);
+        assertEquals(42L, map.getLong("quoted"));
+        assertEquals("word", map.get("bare"));
+        assertNull(map.get("missing"));
+        assertFalse(map.containsKey("missing"));
+        JsonTape.ListView list = (JsonTape.ListView) ((Map<?, ?>) map.get("nested")).get("list");
+        assertEquals("single", list.get(3));
+        assertEquals(Arrays.asList(1L, Arrays.asList(2L, 3L)), list.get(2));
+        assertEquals(3L, ((JsonTape.ListView) ((List<?>) list.get(2)).get(1)).getLong(1));
+        try {
+            map.getLong("name");
+            fail("Expected exception on not a number");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        assertEquals(5L, JsonReader.readCompact("5"));
+        assertNull(JsonReader.readCompact("  "));
+    }
+
+    @Test
+    public void lazyTreeTest() throws Exception {
+        String json = "{\"route\": \"orders\", \"tenant\": {\"id\": 7}, \"payload\": [{\"x\": 1}, {\"x\": 2}], \"big\": 12345678901234567890}";
+        Map<?, ?> lazy = (Map<?, ?>) JsonReader.readLazy(json);
+        assertEquals("orders", lazy.get("route"));
+        // decoded once and kept
+        assertSame(lazy.get("route"), lazy.get("route"));
+        assertSame(lazy.get("tenant"), lazy.get("tenant"));
+        assertSame(lazy.get("big"), lazy.get("big"));
+        List<?> payload = (List<?>) lazy.get("payload");
+        assertSame(payload.get(1), payload.get(1));
+        assertEquals(2L, ((Map<?, ?>) payload.get(1)).get("x"));
+        assertEquals(JsonReader.read(json, Map.class), lazy);
+
+        // compact tree decodes on every access
+        Map<?, ?> compact = (Map<?, ?>) JsonReader.readCompact(json);
+        assertNotSame(compact.get("tenant"), compact.get("tenant"));
+
+        // numbers and literals are decoded on first access, by any accessor
+        String scalars = "[1, -2.5, true, false, null, 1e400, 123456789012345678901, 12ab, {\"n\": 3, \"d\": 0.5}]";
+        JsonTape.ListView list = (JsonTape.ListView) JsonReader.readLazy(scalars);
+        assertEquals(1L, list.getLong(0));
+        assertEquals(-2.5, list.getDouble(1), 0);
+        assertEquals(-2L, list.getLong(1));
+        assertEquals(JsonReader.read(scalars, List.class), list);
+        JsonTape.MapView nested = (JsonTape.MapView) list.get(8);
+        assertEquals(3L, nested.getLong("n"));
+        assertEquals(0.5, nested.getDouble("d"), 0);
+        assertEquals(JsonReader.read(scalars, List.class), JsonReader.readLazy(scalars));
+        assertEquals(Boolean.TRUE, JsonReader.readLazy("true"));
+        assertEquals("", JsonReader.readCompact(" null"));
+        assertEquals(7L, JsonReader.readLazy("7"));
+
+        try {
+            JsonReader.readLazy("{\"a\": [1, 2}");
+            fail("Expected exception on invalid JSON, even if it's never accessed");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void validateAndMinifyTest() throws Exception {
+        String json = "{ \"name\" : \"a  b\\\" }\" ,\n\t\"list\": [ 1 , 2.5e3 , 'x y' , \"\\u0041 \" ],\r\n \"e\": { } }";
+        assertEquals(-1, JsonReader.validate(json));
+        assertEquals(-1, JsonReader.validate(json.getBytes("UTF-8")));
+        assertEquals(-1, JsonReader.validate(new ByteArrayInputStream(json.getBytes("UTF-8")), Charset.forName("UTF-8")));
+        assertEquals(8, JsonReader.validate("{\"a\": [1}]"));
+        assertEquals(8, JsonReader.validate("{\"a\": [1}]".getBytes("UTF-8")));
+        assertEquals(0, JsonReader.validate(""));
+        assertEquals(2, JsonReader.validate("  "));
+        assertEquals(0, JsonReader.validate(new byte[0]));
+        // lenient grammar of read methods
+        assertEquals(-1, JsonReader.validate("abc"));
+        assertEquals(-1, JsonReader.validate("[1,]"));
+
+        String minified = JsonReader.minify(json);
+        assertEquals("{\"name\":\"a  b\\\" }\",\"list\":[1,2.5e3,'x y',\"\\u0041 \"],\"e\":{}}", minified);
+        assertEquals(JsonReader.read(json, Map.class), JsonReader.read(minified, Map.class));
+        assertEquals("[1]\n2\n\"שלום\"", JsonReader.minify(" [ 1 ]  2 \n \"שלום\" "));
+        // apostrophe inside unquoted word doesn't start string
+        assertEquals("[it's,'a b']", JsonReader.minify("[ it's , 'a b' ]"));
+        assertEquals("{a:it's}\n'x y'", JsonReader.minify("{ a : it's } 'x y'"));
+
+        // larger than tokenizer window, so copying crosses refills
+        String big = "[" + StringUtils.repeat(" { \"k\" : \"v   v\" } ,", 5000) + " 1 ]";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonReader.minify(new ByteArrayInputStream(big.getBytes("UTF-8")), out);
+        assertEquals("[" + StringUtils.repeat("{\"k\":\"v   v\"},", 5000) + "1]", out.toString("UTF-8"));
+        try {
+            JsonReader.minify("[1, }");
+            fail("Expected exception on invalid JSON");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void bufferedOutputTest() throws Exception {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("hebrew", "שלום");
+        m.put("emoji", "😀 é");
+        m.put("long", StringUtils.repeat("abc ", 5000));
+        m.put("list", Arrays.asList(1, 2.5, true));
+        StringBuilder sb = new StringBuilder();
+        JsonWriter.write(m, sb);
+        for (String charset : new String[] {"UTF-8", "ISO-8859-1", "UTF-16LE"}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JsonWriter.write(m, out, charset);
+            assertArrayEquals(charset, sb.toString().getBytes(charset), out.toByteArray());
+        }
+
+        // fragments are buffered till flush
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BufferedOutputter outputter = new BufferedOutputter(out, Charset.forName("UTF-8"));
+        outputter.write("{\"a\":");
+        outputter.write("\"\uD83D\"}");
+        assertEquals(0, out.size());
+        outputter.flush();
+        outputter.release();
+        assertEquals("{\"a\":\"?\"}", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void primitiveOutputTest() throws Exception {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("escapes", "q\" b\\ \b\f\n\r\t / \u0001 end");
+        m.put("unicode", "שלום 😀");
+        m.put("numbers", Arrays.<Object>asList(0, -7, Long.MIN_VALUE, Long.MAX_VALUE, (short) 3, (byte) -1, 1.5, -0.0, 1e-7, 1.0E20, Double.NaN, 0.1f, 'c', true));
+        m.put("date", new Date(1234567890123L));
+        m.put("empty", "");
+        // plain outputter goes through String for every value, as before
+        final StringBuilder expected = new StringBuilder();
+        JsonWriter.write(m, new Outputter<String>() {
+            @Override
+            public void write(String data) { expected.append(data); }
+        });
+
+        StringBuilder sb = new StringBuilder();
+        JsonWriter.write(m, sb);
+        assertEquals(expected.toString(), sb.toString());
+        StringWriter writer = new StringWriter();
+        JsonWriter.write(m, writer);
+        assertEquals(expected.toString(), writer.toString());
+        for (String charset : new String[] {"UTF-8", "UTF-16LE"}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JsonWriter.write(m, new OutputStreamOutputter(out, charset));
+            assertEquals(charset, expected.toString(), out.toString(charset));
+        }
+        assertTrue(expected.toString().contains("\"escapes\":\"q\\\" b\\\\ \\b\\f\\n\\r\\t / \u0001 end\""));
+        assertTrue(expected.toString().contains("-9223372036854775808,9223372036854775807,3,-1,1.5,-0.0,1.0E-7,1.0E20,NaN,0.1,c,true"));
+    }
+
+    @Test
+    public void utf8NumbersTest() throws Exception {
+        List<Object> numbers = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            numbers.add(Math.round(random.nextDouble() * 1000000) / Math.pow(10, random.nextInt(9)));
+            numbers.add(-random.nextDouble() * Math.pow(10, random.nextInt(14) - 5));
+            numbers.add(Double.longBitsToDouble(random.nextLong()));
+            numbers.add(random.nextLong() >> random.nextInt(64));
+        }
+        numbers.addAll(Arrays.<Object>asList(0.0, -0.0, 0.001, 9999999.0, 1e7, 0.1 + 0.2, Double.MIN_VALUE, Double.MAX_VALUE,
+            Double.NaN, Double.NEGATIVE_INFINITY, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE - 1L, "שלום"));
+        StringBuilder sb = new StringBuilder();
+        JsonWriter.write(numbers, sb);
+        byte[] expected = sb.toString().getBytes("UTF-8");
+
+        assertArrayEquals(expected, JsonWriter.toUtf8(numbers));
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length + 10);
+        buffer.put((byte) ' ');
+        JsonWriter.write(numbers, buffer);
+        assertEquals(expected.length + 1, buffer.position());
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, buffer.position()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter.write(numbers, new OutputStreamOutputter(out, "UTF-8"));
+        assertArrayEquals(expected, out.toByteArray());
+
+        try {
+            JsonWriter.write(numbers, ByteBuffer.allocate(100));
+            fail("buffer is too small");
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void writePlanTest() throws Exception {
+        SimpleObjAnnotExtendWithAnnotNull o = new SimpleObjAnnotExtendWithAnnotNull();
+        o.num = 1;
+        o.time = 5;
+        String cl = "\"class\":\"" + SimpleObjAnnotExtendWithAnnotNull.class.getName() + "\"";
+        String plain = "{\"num\":1,\"time\":5,\"extendedNull\":null," + cl + "}";
+        StringBuilder out = new StringBuilder();
+        JsonWriter.write(o, out);
+        assertSplitSimpleJson(plain, out.toString());
+
+        // plans are cached per groups and configuration, so each change is visible in output
+        ConfInfo.setIncludeNull(true);
+        out = new StringBuilder();
+        JsonWriter.write(o, out);
+        assertSplitSimpleJson("{\"str\":null,\"num\":1,\"time\":5,\"extendedNull\":null," + cl + "}", out.toString());
+        out = new StringBuilder();
+        JsonWriter.write(o, out, "other");
+        assertSplitSimpleJson(plain, out.toString());
+        ConfInfo.setIncludeNull(false);
+
+        ConfInfo.setClassProperty("type");
+        out = new StringBuilder();
+        JsonWriter.write(o, out);
+        assertSplitSimpleJson(plain.replace("\"class\"", "\"type\""), out.toString());
+        ConfInfo.setExcludeClass(true);
+        out = new StringBuilder();
+        JsonWriter.write(o, out);
+        assertSplitSimpleJson("{\"num\":1,\"time\":5,\"extendedNull\":null}", out.toString());
+        ConfInfo.unset();
+
+        o.str1 = "x";
+        out = new StringBuilder();
+        JsonWriter.write(o, out);
+        assertSplitSimpleJson(plain.replace("{", "{\"str\":\"x\","), out.toString());
+
+        // configuration is resolved per write, even for the same groups array, and reaches objects in containers
+        String[] groups = {"mygroup"};
+        SimpleObjAnnot s = new SimpleObjAnnot();
+        s.num = 2;
+        List<Object> nested = Arrays.<Object>asList(s, Collections.singletonMap("k", s));
+        String tag = ",\"class\":\"" + SimpleObjAnnot.class.getName() + "\"";
+        assertNestedJson("{\"num\":2" + tag + "}", s, nested, groups);
+        ConfInfo.setIncludeNull(true);
+        assertNestedJson("{\"num\":2,\"str\":null" + tag + "}", s, nested, groups);
+        ConfInfo.unset();
+    }
+
+    @Test
+    public void accessorsTest() throws Exception {
+        AccessorsObj o = new AccessorsObj();
+        o.f = 1.5f;
+        o.b = true;
+        o.s = 7;
+        o.hidden = 42;
+        ConfInfo.setExcludeClass(true);
+        StringBuilder sb = new StringBuilder();
+        JsonWriter.write(o, sb);
+        assertSplitSimpleJson("{\"f\":1.5,\"b\":true,\"s\":7,\"fin\":\"initial\",\"hidden\":42}", sb.toString());
+
+        AccessorsObj read = JsonReader.read("{\"f\":2.25,\"b\":true,\"s\":-3,\"fin\":\"changed\",\"hidden\":5}", AccessorsObj.class);
+        assertEquals(2.25f, read.f, 0);
+        assertTrue(read.b);
+        assertEquals(-3, read.s);
+        assertEquals("changed", read.fin);
+        assertEquals(5, read.hidden);
+
+        // exception of getter is reported the same way as by reflection
+        try {
+            JsonWriter.write(new FailingGetterObj(), new StringBuilder());
+            fail("getter throws exception");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void longStringInputTest() throws Exception {
+        // tokens cross windows, String is read window by window
+        StringBuilder json = new StringBuilder("[");
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String v = StringUtils.repeat('a', i % 37) + "\\\"" + i;
+            json.append("\"").append(v.replace("\\", "\\\\").replace("\"", "\\\"")).append("\",").append(i * 1001L).append(',');
+            expected.add(v);
+            expected.add((long) i * 1001L);
+        }
+        json.append("true]");
+        expected.add(true);
+        assertEquals(expected, JsonReader.read(json.toString()));
+    }
+
+    @Test
+    public void jsonLinesCloseTest() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+            sb.append("{\"num\":").append(i).append("}\n");
+        byte[] bytes = sb.toString().getBytes("UTF-8");
+        // runs the first task only, the rest stay queued
+        final List<Runnable> queued = new ArrayList<>();
+        java.util.concurrent.Executor executor = new java.util.concurrent.Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (queued.isEmpty())
+                    command.run();
+                queued.add(command);
+            }
+        };
+        JsonLinesIterator<Map> it = JsonReader.lines(new ByteArrayInputStream(bytes), Map.class, executor, true);
+        assertTrue(it.hasNext());
+        assertTrue(queued.size() > 1);
+        it.close();
+        for (Runnable r : queued.subList(1, queued.size()))
+            assertTrue(((java.util.concurrent.Future<?>) r).isCancelled());
+    }
+
+    @Test
+    public void writeStringFieldEscapesTest() throws Exception {
+        // String property is written as is: backslash and quote are escaped, not decoded as escapes before writing
+        SimpleObjAnnot o = new SimpleObjAnnot();
+        o.str1 = "back\\slash \"quoted\" \\n \\u0041";
+        o.num = 1;
+        StringBuilder sb = new StringBuilder();
+        JsonWriter.write(o, sb, "mygroup");
+        assertTrue(sb.toString(), sb.toString().contains("\"str\":\"back\\\\slash \\\"quoted\\\" \\\\n \\\\u0041\""));
+        assertEquals(o, JsonReader.read(sb.toString(), SimpleObjAnnot.class, "mygroup"));
+        assertArrayEquals(sb.toString().getBytes("UTF-8"), JsonWriter.toUtf8(o, "mygroup"));
+    }
+
+    @Test
+    public void writePlanPrefixTest() throws Exception {
+        FinalTypesObj o = new FinalTypesObj();
+        o.name = "שם";
+        o.count = 3;
+        o.total = 4L;
+        o.any = 5L;
+        StringBuilder sb = new StringBuilder();
+        JsonWriter.write(o, sb);
+        String tag = "\"class\":\"" + FinalTypesObj.class.getName() + "\"";
+        assertSplitSimpleJson("{\"név\":\"שם\",\"count\":3,\"total\":4,\"any\":5," + tag + "}", sb.toString());
+        // prepared UTF-8 prefixes give the same bytes as encoding of chars
+        assertArrayEquals(sb.toString().getBytes("UTF-8"), JsonWriter.toUtf8(o));
+        ByteArrayOutputStream latin = new ByteArrayOutputStream();
+        JsonWriter.write(o, latin, "ISO-8859-1");
+        assertArrayEquals(sb.toString().getBytes("ISO-8859-1"), latin.toByteArray());
+        // not final property takes transformer of its actual value
+        o.any = "x";
+        assertArrayEquals(sb.toString().replace("\"any\":5", "\"any\":\"x\"").getBytes("UTF-8"), JsonWriter.toUtf8(o));
+    }
+
+    private static String keyOf(Map<?, ?> m, String key) {
+        for (Object k : m.keySet()) {
+            if (key.equals(k))
+                return (String) k;
+        }
+        return null;
+    }
+
+    // o is written as expected (in any order of properties), and the same way as element of list and value of map in nested
+    private static void assertNestedJson(String expected, Object o, List<Object> nested, String...groups) throws Exception {
+        StringBuilder single = new StringBuilder();
+        JsonWriter.write(o, single, groups);
+        assertSplitSimpleJson(expected, single.toString());
+        StringBuilder out = new StringBuilder();
+        JsonWriter.write(nested, out, groups);
+        assertEquals("[" + single + ",{\"k\":" + single + "}]", out.toString());
+    }
+
     private static void assertSplitSimpleJson(String expected, String actual) {
         assertSplitSimpleJson(null, expected, actual);
     }